@@ -3,13 +3,14 @@ package org.dlsulscs.arw.auth.filter;
 import io.jsonwebtoken.Claims;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
-import jakarta.servlet.http.Cookie;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
-import org.dlsulscs.arw.auth.service.JwtService;
+import org.dlsulscs.arw.auth.service.AccessTokenResolver;
+import org.dlsulscs.arw.auth.service.TokenParseResult;
+import org.dlsulscs.arw.auth.service.VerifiedTokenCache;
 import org.dlsulscs.arw.common.exception.ResourceNotFoundException;
 import org.dlsulscs.arw.user.model.User;
-import org.dlsulscs.arw.user.repository.UserRepository;
+import org.dlsulscs.arw.user.service.UserPrincipalCache;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.context.annotation.Lazy;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
@@ -24,34 +25,25 @@ import java.util.ArrayList;
 @Component
 public class JwtAuthenticationFilter extends OncePerRequestFilter {
 
-    private final JwtService jwtService;
-    private final UserRepository userRepository;
+    private final AccessTokenResolver accessTokenResolver;
+    private final VerifiedTokenCache verifiedTokenCache;
+    private final UserPrincipalCache userPrincipalCache;
 
     @Autowired
-    public JwtAuthenticationFilter(JwtService jwtService, @Lazy UserRepository userRepository) {
-        this.jwtService = jwtService;
-        this.userRepository = userRepository;
+    public JwtAuthenticationFilter(AccessTokenResolver accessTokenResolver, VerifiedTokenCache verifiedTokenCache,
+            @Lazy UserPrincipalCache userPrincipalCache) {
+        this.accessTokenResolver = accessTokenResolver;
+        this.verifiedTokenCache = verifiedTokenCache;
+        this.userPrincipalCache = userPrincipalCache;
     }
 
     @Override
     protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
             throws ServletException, IOException {
-        String jwt = getJwtFromCookie(request);
+        VerifiedTokenCache.VerifiedToken verified = verify(request);
 
-        if (jwt != null && jwtService.validateToken(jwt)) {
-            Claims claims = jwtService.extractAllClaims(jwt);
-            String username = claims.getSubject();
-            User user;
-
-            if (claims.containsKey("name")) {
-                user = new User();
-                user.setEmail(username);
-                user.setName(claims.get("name", String.class));
-                user.setDisplay_picture(claims.get("picture", String.class));
-            } else {
-                user = userRepository.findByEmail(username)
-                        .orElseThrow(() -> new ResourceNotFoundException("User not found with email: " + username));
-            }
+        if (verified != null) {
+            User user = toPrincipal(verified);
 
             UsernamePasswordAuthenticationToken authentication = new UsernamePasswordAuthenticationToken(user, null,
                     new ArrayList<>());
@@ -63,15 +55,42 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
         filterChain.doFilter(request, response);
     }
 
-    private String getJwtFromCookie(HttpServletRequest request) {
-        Cookie[] cookies = request.getCookies();
-        if (cookies != null) {
-            for (Cookie cookie : cookies) {
-                if ("access_token".equals(cookie.getName())) {
-                    return cookie.getValue();
-                }
-            }
+    /**
+     * Returns the request's verified token, checking the signature only the
+     * first time a token is seen.
+     */
+    private VerifiedTokenCache.VerifiedToken verify(HttpServletRequest request) {
+        String jwt = accessTokenResolver.getToken(request);
+        if (jwt == null) {
+            return null;
+        }
+        VerifiedTokenCache.VerifiedToken verified = verifiedTokenCache.get(jwt);
+        if (verified != null) {
+            return verified;
+        }
+
+        TokenParseResult token = accessTokenResolver.resolve(request);
+        if (!token.isValid() || token.claims().getExpiration() == null) {
+            return null;
+        }
+        Claims claims = token.claims();
+        verified = new VerifiedTokenCache.VerifiedToken(claims.getSubject(), claims.get("name", String.class),
+                claims.get("picture", String.class), claims.getExpiration().toInstant());
+        verifiedTokenCache.put(jwt, verified);
+        return verified;
+    }
+
+    // Resolved on every request: only the claims are cached, never the user.
+    private User toPrincipal(VerifiedTokenCache.VerifiedToken verified) {
+        String username = verified.subject();
+        if (verified.name() != null) {
+            User user = new User();
+            user.setEmail(username);
+            user.setName(verified.name());
+            user.setDisplay_picture(verified.picture());
+            return user;
         }
-        return null;
+        return userPrincipalCache.findByEmail(username)
+                .orElseThrow(() -> new ResourceNotFoundException("User not found with email: " + username));
     }
-}
\ No newline at end of file
+}
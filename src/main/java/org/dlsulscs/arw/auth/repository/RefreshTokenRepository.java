@@ -3,16 +3,96 @@ package org.dlsulscs.arw.auth.repository;
 import org.dlsulscs.arw.auth.model.RefreshToken;
 import org.dlsulscs.arw.user.model.User;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.time.Instant;
 import java.util.Optional;
 
 @Repository
 public interface RefreshTokenRepository extends JpaRepository<RefreshToken, Integer> {
 
-    Optional<RefreshToken> findByToken(String token);
+    @Query("SELECT t FROM RefreshToken t JOIN FETCH t.user WHERE t.tokenHash = :tokenHash")
+    Optional<RefreshToken> findByTokenHash(@Param("tokenHash") String tokenHash);
 
     void deleteByUser(User user);
 
     Optional<RefreshToken> findByUser(User user);
+
+    /**
+     * The whole of a Google login in one statement: inserts the user, or
+     * updates their name and picture if either changed, then issues their
+     * refresh token in place of any previous one.
+     *
+     * <p>
+     * Returns no row if another transaction inserted the same new user
+     * concurrently; running the statement again then finds that user.
+     * </p>
+     */
+    @Transactional
+    @Query(value = "WITH upserted AS ("
+            + " INSERT INTO users (email, name, display_picture) VALUES (:email, :name, :picture)"
+            + " ON CONFLICT (email) DO UPDATE SET name = EXCLUDED.name, display_picture = EXCLUDED.display_picture"
+            + " WHERE users.name IS DISTINCT FROM EXCLUDED.name"
+            + " OR users.display_picture IS DISTINCT FROM EXCLUDED.display_picture"
+            + " RETURNING id, email, display_picture, name"
+            + "), login_user AS ("
+            + " SELECT id, email, display_picture, name, true AS changed FROM upserted"
+            + " UNION ALL"
+            + " SELECT id, email, display_picture, name, false FROM users"
+            + " WHERE email = :email AND NOT EXISTS (SELECT 1 FROM upserted)"
+            + "), previous_token AS ("
+            + " SELECT t.token_hash FROM refresh_tokens t JOIN login_user u ON t.user_id = u.id"
+            + "), issued AS ("
+            + " INSERT INTO refresh_tokens (token_hash, expiry_date, user_id)"
+            + " SELECT :tokenHash, :expiryDate, id FROM login_user"
+            + " ON CONFLICT (user_id) DO UPDATE SET token_hash = EXCLUDED.token_hash, expiry_date = EXCLUDED.expiry_date"
+            + " RETURNING user_id"
+            + ")"
+            + " SELECT u.id AS \"id\", u.email AS \"email\", u.display_picture AS \"displayPicture\","
+            + " u.name AS \"name\", u.changed AS \"userChanged\","
+            + " (SELECT token_hash FROM previous_token) AS \"previousTokenHash\""
+            + " FROM login_user u JOIN issued i ON i.user_id = u.id", nativeQuery = true)
+    Optional<LoginRow> upsertLogin(@Param("email") String email, @Param("name") String name,
+            @Param("picture") String picture, @Param("tokenHash") String tokenHash,
+            @Param("expiryDate") Instant expiryDate);
+
+    @Modifying
+    @Transactional
+    @Query("DELETE FROM RefreshToken t WHERE t.tokenHash = :tokenHash")
+    int deleteByTokenHash(@Param("tokenHash") String tokenHash);
+
+    /**
+     * Deletes up to {@code batchSize} tokens that expired before {@code now},
+     * oldest first, in a transaction of its own. Rows locked by another
+     * replica's reaper are skipped rather than waited on.
+     *
+     * @return the number of rows deleted
+     */
+    @Modifying
+    @Transactional
+    // = ANY(ARRAY(...)) rather than IN (...): IN is planned as a semi-join that scans the whole table.
+    @Query(value = "DELETE FROM refresh_tokens WHERE id = ANY(ARRAY("
+            + "SELECT id FROM refresh_tokens WHERE expiry_date < :now "
+            + "ORDER BY expiry_date LIMIT :batchSize FOR UPDATE SKIP LOCKED))", nativeQuery = true)
+    int deleteExpiredBatch(@Param("now") Instant now, @Param("batchSize") int batchSize);
+
+    interface LoginRow {
+        Integer getId();
+
+        String getEmail();
+
+        String getDisplayPicture();
+
+        String getName();
+
+        // Whether the user was inserted or their profile updated.
+        boolean getUserChanged();
+
+        // The digest of the token this login replaced, if any.
+        String getPreviousTokenHash();
+    }
 }
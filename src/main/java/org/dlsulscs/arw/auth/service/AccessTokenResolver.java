@@ -0,0 +1,54 @@
+package org.dlsulscs.arw.auth.service;
+
+import jakarta.servlet.http.Cookie;
+import jakarta.servlet.http.HttpServletRequest;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+/**
+ * Reads the {@code access_token} cookie and parses it at most once per
+ * request. The result is kept as a request attribute, so every filter that
+ * asks gets the same {@link TokenParseResult} without verifying the signature
+ * again.
+ */
+@Component
+public class AccessTokenResolver {
+    public static final String ACCESS_TOKEN_COOKIE = "access_token";
+
+    private static final String RESULT_ATTRIBUTE = AccessTokenResolver.class.getName() + ".RESULT";
+
+    private final JwtService jwtService;
+
+    @Autowired
+    public AccessTokenResolver(JwtService jwtService) {
+        this.jwtService = jwtService;
+    }
+
+    /**
+     * @return the raw {@code access_token} cookie value, or {@code null}
+     */
+    public String getToken(HttpServletRequest request) {
+        return getTokenFromCookie(request);
+    }
+
+    public TokenParseResult resolve(HttpServletRequest request) {
+        if (request.getAttribute(RESULT_ATTRIBUTE) instanceof TokenParseResult cached) {
+            return cached;
+        }
+        TokenParseResult result = jwtService.parseToken(getTokenFromCookie(request));
+        request.setAttribute(RESULT_ATTRIBUTE, result);
+        return result;
+    }
+
+    private static String getTokenFromCookie(HttpServletRequest request) {
+        Cookie[] cookies = request.getCookies();
+        if (cookies != null) {
+            for (Cookie cookie : cookies) {
+                if (ACCESS_TOKEN_COOKIE.equals(cookie.getName())) {
+                    return cookie.getValue();
+                }
+            }
+        }
+        return null;
+    }
+}
@@ -1,9 +1,6 @@
 package org.dlsulscs.arw.auth.service;
 
-import org.dlsulscs.arw.auth.model.RefreshToken;
 import org.dlsulscs.arw.config.properties.JwtProperties;
-import org.dlsulscs.arw.user.model.User;
-import org.dlsulscs.arw.user.service.UserService;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.http.ResponseCookie;
@@ -17,28 +14,21 @@ import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
 
 import java.io.IOException;
-import org.slf4j.Logger;
-import org.slf4j.LoggerFactory;
 
 @Component
 public class AuthenticationSuccessHandler extends SimpleUrlAuthenticationSuccessHandler {
-    private static final Logger log = LoggerFactory.getLogger(AuthenticationSuccessHandler.class);
-
     private final JwtService jwtService;
-    private final RefreshTokenService refreshTokenService;
-    private final UserService userService;
+    private final LoginService loginService;
     private final JwtProperties jwtProperties;
     private final String redirectUri;
     private final CookieService cookieService;
 
     @Autowired
-    public AuthenticationSuccessHandler(JwtService jwtService, RefreshTokenService refreshTokenService,
-            UserService userService,
+    public AuthenticationSuccessHandler(JwtService jwtService, LoginService loginService,
             JwtProperties jwtProperties,
             @Value("${app.oauth2.redirect-uri}") String redirectUri, CookieService cookieService) {
         this.jwtService = jwtService;
-        this.refreshTokenService = refreshTokenService;
-        this.userService = userService;
+        this.loginService = loginService;
         this.jwtProperties = jwtProperties;
         this.redirectUri = redirectUri;
         this.cookieService = cookieService;
@@ -53,17 +43,14 @@ public class AuthenticationSuccessHandler extends SimpleUrlAuthenticationSuccess
     public void onAuthenticationSuccess(HttpServletRequest request, HttpServletResponse response,
             Authentication authentication) throws IOException {
         OAuth2User oAuth2User = (OAuth2User) authentication.getPrincipal();
-        String email = oAuth2User.getAttribute("email");
-        log.info("Authentication success for email: {}", email);
-
-        User user = userService.processOAuth2User(oAuth2User);
+        LoginService.Login login = loginService.login(oAuth2User);
 
-        String accessToken = jwtService.generateAccessToken(user);
-        RefreshToken refreshToken = refreshTokenService.createRefreshToken(user);
+        String accessToken = jwtService.generateAccessToken(login.user());
+        String refreshToken = login.refreshToken();
 
         ResponseCookie accessTokenCookie = cookieService.createCookie("access_token", accessToken,
                 jwtProperties.accessTokenExpirationMs() / 1000);
-        ResponseCookie refreshTokenCookie = cookieService.createCookie("refresh_token", refreshToken.getToken(),
+        ResponseCookie refreshTokenCookie = cookieService.createCookie("refresh_token", refreshToken,
                 jwtProperties.refreshTokenExpirationMs() / 1000);
 
         response.addHeader("Set-Cookie", accessTokenCookie.toString());
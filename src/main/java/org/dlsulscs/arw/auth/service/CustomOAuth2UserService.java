@@ -1,23 +0,0 @@
-package org.dlsulscs.arw.auth.service;
-
-import org.dlsulscs.arw.user.service.UserService;
-import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.security.oauth2.client.userinfo.DefaultOAuth2UserService;
-import org.springframework.security.oauth2.client.userinfo.OAuth2UserRequest;
-import org.springframework.security.oauth2.core.OAuth2AuthenticationException;
-import org.springframework.security.oauth2.core.user.OAuth2User;
-import org.springframework.stereotype.Service;
-
-@Service
-public class CustomOAuth2UserService extends DefaultOAuth2UserService {
-
-    @Autowired
-    private UserService userService;
-
-    @Override
-    public OAuth2User loadUser(OAuth2UserRequest userRequest) throws OAuth2AuthenticationException {
-        OAuth2User oAuth2User = super.loadUser(userRequest);
-        userService.processOAuth2User(oAuth2User);
-        return oAuth2User;
-    }
-}
@@ -1,10 +1,18 @@
 package org.dlsulscs.arw.auth.service;
 
 import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.ExpiredJwtException;
+import io.jsonwebtoken.JwtException;
+import io.jsonwebtoken.JwtParser;
 import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.MalformedJwtException;
+import io.jsonwebtoken.UnsupportedJwtException;
 import io.jsonwebtoken.security.Keys;
+import io.jsonwebtoken.security.SignatureException;
 import org.dlsulscs.arw.config.properties.JwtProperties;
 import org.dlsulscs.arw.user.model.User;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.stereotype.Service;
@@ -17,13 +25,17 @@ import java.util.function.Function;
 
 @Service
 public class JwtService {
+    private static final Logger log = LoggerFactory.getLogger(JwtService.class);
 
     private final JwtProperties jwtProperties;
     private final SecretKey key;
+    // Immutable and thread-safe, so one instance serves every request.
+    private final JwtParser parser;
 
     public JwtService(JwtProperties jwtProperties) {
         this.jwtProperties = jwtProperties;
         this.key = Keys.hmacShaKeyFor(jwtProperties.secret().getBytes());
+        this.parser = Jwts.parser().verifyWith(key).build();
     }
 
     public String generateAccessToken(User user) {
@@ -65,16 +77,35 @@ public class JwtService {
                 .compact();
     }
 
-    public boolean validateToken(String token) {
+    /**
+     * Verifies {@code token} and returns its claims, or the reason it was
+     * rejected. The signature is checked exactly once.
+     */
+    public TokenParseResult parseToken(String token) {
+        if (token == null || token.isBlank()) {
+            return TokenParseResult.failed(TokenParseResult.Failure.MISSING);
+        }
         try {
-            Jwts.parser().verifyWith(key).build().parseSignedClaims(token);
-            return true;
-        } catch (Exception e) {
-            // TODO: Add more specific exception handling and logging
-            return false;
+            return TokenParseResult.valid(parser.parseSignedClaims(token).getPayload());
+        } catch (ExpiredJwtException e) {
+            return TokenParseResult.failed(TokenParseResult.Failure.EXPIRED);
+        } catch (SignatureException e) {
+            log.debug("Rejected JWT with an invalid signature");
+            return TokenParseResult.failed(TokenParseResult.Failure.INVALID_SIGNATURE);
+        } catch (UnsupportedJwtException e) {
+            return TokenParseResult.failed(TokenParseResult.Failure.UNSUPPORTED);
+        } catch (MalformedJwtException | IllegalArgumentException e) {
+            return TokenParseResult.failed(TokenParseResult.Failure.MALFORMED);
+        } catch (JwtException e) {
+            log.debug("Rejected JWT: {}", e.getMessage());
+            return TokenParseResult.failed(TokenParseResult.Failure.MALFORMED);
         }
     }
 
+    public boolean validateToken(String token) {
+        return parseToken(token).isValid();
+    }
+
     public String extractUsername(String token) {
         return extractClaim(token, Claims::getSubject);
     }
@@ -85,10 +116,6 @@ public class JwtService {
     }
 
     public Claims extractAllClaims(String token) {
-        return Jwts.parser()
-                .verifyWith(key)
-                .build()
-                .parseSignedClaims(token)
-                .getPayload();
+        return parser.parseSignedClaims(token).getPayload();
     }
 }
@@ -0,0 +1,83 @@
+package org.dlsulscs.arw.auth.service;
+
+import org.dlsulscs.arw.auth.repository.RefreshTokenRepository;
+import org.dlsulscs.arw.auth.repository.RefreshTokenRepository.LoginRow;
+import org.dlsulscs.arw.config.properties.JwtProperties;
+import org.dlsulscs.arw.user.model.User;
+import org.dlsulscs.arw.user.service.UserPrincipalCache;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.security.oauth2.core.user.OAuth2User;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Instant;
+import java.util.Optional;
+
+/**
+ * Persists a Google login: the user's profile and a fresh refresh token.
+ *
+ * <p>
+ * Both are written by one upsert statement (see
+ * {@link RefreshTokenRepository#upsertLogin}), so a returning user costs a
+ * single round trip and their row is only rewritten when their name or
+ * picture changed.
+ * </p>
+ */
+@Service
+public class LoginService {
+    private static final Logger log = LoggerFactory.getLogger(LoginService.class);
+
+    /**
+     * @param user         the signed-in user
+     * @param refreshToken the refresh token to hand to the client; only its
+     *                     digest is stored
+     */
+    public record Login(User user, String refreshToken) {
+    }
+
+    private final RefreshTokenRepository refreshTokenRepository;
+    private final RefreshTokenService refreshTokenService;
+    private final RefreshTokenCache refreshTokenCache;
+    private final UserPrincipalCache userPrincipalCache;
+    private final JwtProperties jwtProperties;
+
+    @Autowired
+    public LoginService(RefreshTokenRepository refreshTokenRepository, RefreshTokenService refreshTokenService,
+            RefreshTokenCache refreshTokenCache, UserPrincipalCache userPrincipalCache,
+            JwtProperties jwtProperties) {
+        this.refreshTokenRepository = refreshTokenRepository;
+        this.refreshTokenService = refreshTokenService;
+        this.refreshTokenCache = refreshTokenCache;
+        this.userPrincipalCache = userPrincipalCache;
+        this.jwtProperties = jwtProperties;
+    }
+
+    @Transactional
+    public Login login(OAuth2User oAuth2User) {
+        String email = oAuth2User.getAttribute("email");
+        String name = oAuth2User.getAttribute("name");
+        String picture = oAuth2User.getAttribute("picture");
+
+        String refreshToken = refreshTokenService.newToken();
+        String tokenHash = TokenDigests.sha256Hex(refreshToken);
+        Instant expiryDate = Instant.now().plusMillis(jwtProperties.refreshTokenExpirationMs());
+
+        Optional<LoginRow> upserted = refreshTokenRepository.upsertLogin(email, name, picture, tokenHash, expiryDate);
+        if (upserted.isEmpty()) {
+            // A concurrent first login for the same email won the insert; the next statement sees its row.
+            upserted = refreshTokenRepository.upsertLogin(email, name, picture, tokenHash, expiryDate);
+        }
+        LoginRow row = upserted.orElseThrow(() -> new IllegalStateException("Could not persist login for " + email));
+
+        if (row.getUserChanged()) {
+            userPrincipalCache.evict(email);
+        }
+        refreshTokenCache.evict(row.getPreviousTokenHash());
+        log.debug("Persisted login for user {} (profile changed: {})", row.getId(), row.getUserChanged());
+
+        User user = new User(row.getId(), row.getEmail(), row.getDisplayPicture(), row.getName());
+        return new Login(user, refreshToken);
+    }
+}
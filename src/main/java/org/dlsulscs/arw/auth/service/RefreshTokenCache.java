@@ -0,0 +1,95 @@
+package org.dlsulscs.arw.auth.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.dlsulscs.arw.auth.model.RefreshToken;
+import org.dlsulscs.arw.auth.repository.RefreshTokenRepository;
+import org.dlsulscs.arw.user.model.User;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Optional;
+
+/**
+ * Bounded read-through cache of refresh tokens by digest, so that a client's
+ * refresh every 15 minutes does not need a database round trip.
+ *
+ * <p>
+ * Entries expire after the TTL or at the token's own expiry, whichever comes
+ * first. Unknown digests are not cached, and each hit is a fresh copy.
+ * {@link RefreshTokenService} evicts a digest when it rotates or deletes the
+ * token; the TTL bounds how long another replica may still accept it. Hit
+ * and miss counts are published as {@code cache.gets{cache=refresh-tokens}}.
+ * </p>
+ */
+@Component
+public class RefreshTokenCache {
+
+    private final RefreshTokenRepository refreshTokenRepository;
+    private final Cache<String, RefreshToken> byHash;
+
+    @Autowired
+    public RefreshTokenCache(RefreshTokenRepository refreshTokenRepository, MeterRegistry meterRegistry,
+            @Value("${app.refresh-token-cache.maximum-size:10000}") long maximumSize,
+            @Value("${app.refresh-token-cache.ttl:60s}") Duration ttl) {
+        this.refreshTokenRepository = refreshTokenRepository;
+        this.byHash = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfter(Expiry.creating((String hash, RefreshToken token) -> timeLeft(token, ttl)))
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, byHash, "refresh-tokens");
+    }
+
+    public Optional<RefreshToken> findByTokenHash(String tokenHash) {
+        RefreshToken cached = byHash.getIfPresent(tokenHash);
+        if (cached != null) {
+            return Optional.of(copyOf(cached));
+        }
+        Optional<RefreshToken> loaded = refreshTokenRepository.findByTokenHash(tokenHash);
+        loaded.ifPresent(token -> byHash.put(tokenHash, copyOf(token)));
+        return loaded;
+    }
+
+    /**
+     * Drops {@code tokenHash} right away and again after the current
+     * transaction commits, in case a request re-cached it in between.
+     */
+    public void evict(String tokenHash) {
+        if (tokenHash == null) {
+            return;
+        }
+        byHash.invalidate(tokenHash);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    byHash.invalidate(tokenHash);
+                }
+            });
+        }
+    }
+
+    private static Duration timeLeft(RefreshToken token, Duration ttl) {
+        Duration left = Duration.between(Instant.now(), token.getExpiryDate());
+        if (left.isNegative()) {
+            return Duration.ZERO;
+        }
+        return left.compareTo(ttl) < 0 ? left : ttl;
+    }
+
+    private static RefreshToken copyOf(RefreshToken token) {
+        User user = token.getUser();
+        User userCopy = user == null ? null
+                : new User(user.getId(), user.getEmail(), user.getDisplay_picture(), user.getName());
+        return new RefreshToken(token.getId(), token.getTokenHash(), token.getExpiryDate(), userCopy);
+    }
+}
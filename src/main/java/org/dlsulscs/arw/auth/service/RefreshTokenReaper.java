@@ -0,0 +1,60 @@
+package org.dlsulscs.arw.auth.service;
+
+import org.dlsulscs.arw.auth.repository.RefreshTokenRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Instant;
+
+/**
+ * Periodically purges expired refresh tokens, so abandoned sessions do not
+ * pile up in {@code refresh_tokens}.
+ *
+ * <p>
+ * Rows are deleted in small batches, each in its own transaction and found
+ * through the {@code expiry_date} index, so a purge never holds locks for
+ * long. Replicas running the reaper at the same time skip each other's rows.
+ * </p>
+ */
+@Component
+public class RefreshTokenReaper {
+    private static final Logger log = LoggerFactory.getLogger(RefreshTokenReaper.class);
+
+    private final RefreshTokenRepository refreshTokenRepository;
+    private final int batchSize;
+
+    @Autowired
+    public RefreshTokenReaper(RefreshTokenRepository refreshTokenRepository,
+            @Value("${app.refresh-token-reaper.batch-size:500}") int batchSize) {
+        this.refreshTokenRepository = refreshTokenRepository;
+        this.batchSize = batchSize;
+    }
+
+    @Scheduled(initialDelayString = "${app.refresh-token-reaper.interval-ms:3600000}",
+            fixedDelayString = "${app.refresh-token-reaper.interval-ms:3600000}")
+    public void reap() {
+        int deleted = reapExpired(Instant.now());
+        if (deleted > 0) {
+            log.info("Deleted {} expired refresh tokens", deleted);
+        }
+    }
+
+    /**
+     * Deletes every token that expired before {@code now}.
+     *
+     * @return the number of tokens deleted
+     */
+    public int reapExpired(Instant now) {
+        int total = 0;
+        int deleted;
+        do {
+            deleted = refreshTokenRepository.deleteExpiredBatch(now, batchSize);
+            total += deleted;
+        } while (deleted == batchSize);
+        return total;
+    }
+}
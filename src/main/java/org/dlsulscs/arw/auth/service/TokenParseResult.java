@@ -0,0 +1,34 @@
+package org.dlsulscs.arw.auth.service;
+
+import io.jsonwebtoken.Claims;
+
+/**
+ * Outcome of parsing and verifying a JWT: the claims when the token is valid,
+ * otherwise the reason it was rejected.
+ *
+ * @param claims  the verified claims, or {@code null} on failure
+ * @param failure why the token was rejected, or {@code null} when it is valid
+ */
+public record TokenParseResult(Claims claims, Failure failure) {
+
+    public enum Failure {
+        /** No token was presented. */
+        MISSING,
+        EXPIRED,
+        INVALID_SIGNATURE,
+        MALFORMED,
+        UNSUPPORTED
+    }
+
+    public static TokenParseResult valid(Claims claims) {
+        return new TokenParseResult(claims, null);
+    }
+
+    public static TokenParseResult failed(Failure failure) {
+        return new TokenParseResult(null, failure);
+    }
+
+    public boolean isValid() {
+        return failure == null;
+    }
+}
@@ -0,0 +1,75 @@
+package org.dlsulscs.arw.auth.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.dlsulscs.arw.user.model.User;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.Instant;
+
+/**
+ * Remembers access tokens whose signature has already been verified, so a
+ * session's repeat requests skip the HMAC check and claims parsing.
+ *
+ * <p>
+ * Entries are keyed by the SHA-256 digest of the token (the token itself is
+ * never stored) and expire no later than the token's own {@code exp}. Hit and
+ * miss counts are published as {@code cache.gets{cache=jwt.verified}}.
+ * </p>
+ */
+@Component
+public class VerifiedTokenCache {
+
+    /**
+     * The verified claims the filter needs, not the user they resolve to, so
+     * that principal lookups keep honouring their own cache and evictions.
+     *
+     * @param subject   the user's email
+     * @param name      the {@code name} claim, or {@code null} if the token
+     *                  carries no profile
+     * @param picture   the {@code picture} claim
+     * @param expiresAt the token's {@code exp}
+     */
+    public record VerifiedToken(String subject, String name, String picture, Instant expiresAt) {
+    }
+
+    private final Cache<String, VerifiedToken> cache;
+
+    @Autowired
+    public VerifiedTokenCache(MeterRegistry meterRegistry,
+            @Value("${app.jwt.verified-cache.maximum-size:10000}") long maximumSize) {
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfter(Expiry.creating((String digest, VerifiedToken token) -> timeLeft(token)))
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, "jwt.verified");
+    }
+
+    /**
+     * @return the verified entry for {@code token}, or {@code null} if it has
+     *         not been seen or has expired
+     */
+    public VerifiedToken get(String token) {
+        VerifiedToken verified = cache.getIfPresent(TokenDigests.sha256Hex(token));
+        // Expiry is approximate; never hand out a token past its exp.
+        return verified != null && verified.expiresAt().isAfter(Instant.now()) ? verified : null;
+    }
+
+    public void put(String token, VerifiedToken verified) {
+        if (verified.expiresAt().isAfter(Instant.now())) {
+            cache.put(TokenDigests.sha256Hex(token), verified);
+        }
+    }
+
+    private static Duration timeLeft(VerifiedToken token) {
+        Duration left = Duration.between(Instant.now(), token.expiresAt());
+        return left.isNegative() ? Duration.ZERO : left;
+    }
+}
@@ -0,0 +1,54 @@
+package org.dlsulscs.arw.catalog.event;
+
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Published by the write paths of the organization, publication and cluster
+ * services whenever catalog data changes.
+ *
+ * <p>
+ * Listeners receive it after the surrounding transaction commits (or
+ * immediately when there is none), so in-memory read models never observe
+ * uncommitted state. An empty {@code ids} list means "anything of this kind may
+ * have changed".
+ * </p>
+ *
+ * <p>
+ * {@code remote} events describe a write committed by another replica; they
+ * are republished locally by {@code CatalogNotificationBus} and are never
+ * sent on again.
+ * </p>
+ */
+public record CatalogChangedEvent(Kind kind, List<Integer> ids, boolean remote) {
+
+    public enum Kind {
+        ORGANIZATION,
+        PUBLICATION,
+        CLUSTER
+    }
+
+    public CatalogChangedEvent {
+        ids = ids == null ? List.of() : List.copyOf(ids);
+    }
+
+    public CatalogChangedEvent(Kind kind, List<Integer> ids) {
+        this(kind, ids, false);
+    }
+
+    public static CatalogChangedEvent all(Kind kind) {
+        return new CatalogChangedEvent(kind, List.of());
+    }
+
+    public static CatalogChangedEvent of(Kind kind, Integer id) {
+        return new CatalogChangedEvent(kind, id == null ? List.of() : List.of(id));
+    }
+
+    public static CatalogChangedEvent of(Kind kind, Collection<Integer> ids) {
+        return new CatalogChangedEvent(kind, List.copyOf(ids));
+    }
+
+    public static CatalogChangedEvent remote(Kind kind, Collection<Integer> ids) {
+        return new CatalogChangedEvent(kind, List.copyOf(ids), true);
+    }
+}
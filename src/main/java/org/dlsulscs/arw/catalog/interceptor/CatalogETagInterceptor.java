@@ -0,0 +1,140 @@
+package org.dlsulscs.arw.catalog.interceptor;
+
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.dlsulscs.arw.catalog.model.CatalogDocument;
+import org.dlsulscs.arw.catalog.service.OrganizationCatalog;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.server.ServletServerHttpResponse;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.HandlerInterceptor;
+
+import java.nio.charset.StandardCharsets;
+import java.io.IOException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.zip.CRC32;
+
+/**
+ * Conditional GET for catalog reads.
+ *
+ * <p>
+ * Catalog responses only change when the catalog version does, so the ETag
+ * is simply the catalog {@linkplain OrganizationCatalog#validator()
+ * validator} plus a checksum of the request path and query. A matching
+ * {@code If-None-Match} is answered with 304 here, before the controller, any
+ * repository call or any serialization runs.
+ * </p>
+ *
+ * <p>
+ * Otherwise the ETag is left on the request and {@link CatalogETagResponseAdvice}
+ * only adds it, with the cache headers, if the controller answers 2xx, so a
+ * 404 is never cached under a catalog validator.
+ * </p>
+ */
+@Component
+public class CatalogETagInterceptor implements HandlerInterceptor {
+    static final String ETAG_ATTRIBUTE = CatalogETagInterceptor.class.getName() + ".etag";
+    static final String CATALOG_DOCUMENT_ATTRIBUTE = CatalogETagInterceptor.class.getName() + ".catalogDocument";
+
+    private static final String CATALOG_DOCUMENT_PATH = "/api/orgs/catalog";
+    private static final String CATALOG_DOCUMENT_CACHE_CONTROL = CacheControl.maxAge(Duration.ofMinutes(5))
+            .cachePublic()
+            .staleWhileRevalidate(Duration.ofDays(1))
+            .getHeaderValue();
+
+    private final OrganizationCatalog organizationCatalog;
+
+    @Autowired
+    public CatalogETagInterceptor(OrganizationCatalog organizationCatalog) {
+        this.organizationCatalog = organizationCatalog;
+    }
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler)
+            throws IOException {
+        if (!"GET".equals(request.getMethod()) && !"HEAD".equals(request.getMethod())) {
+            return true;
+        }
+        if (isUnseededShuffle(request)) {
+            // Without a seed every response is a fresh random order.
+            return true;
+        }
+
+        boolean catalogDocument = request.getRequestURI().equals(CATALOG_DOCUMENT_PATH);
+        String etag = organizationCatalog.validator() + "-" + requestChecksum(request);
+        if (catalogDocument && CatalogDocument.acceptsGzip(request.getHeader(HttpHeaders.ACCEPT_ENCODING))) {
+            // A strong ETag names exact bytes, so the gzipped body needs its own.
+            etag += "-gzip";
+        }
+        String quoted = "\"" + etag + "\"";
+        if (matchesIfNoneMatch(request, quoted)) {
+            ServletServerHttpResponse notModified = new ServletServerHttpResponse(response);
+            notModified.setStatusCode(HttpStatus.NOT_MODIFIED);
+            writeValidatorHeaders(notModified.getHeaders(), quoted, catalogDocument);
+            notModified.flush();
+            return false;
+        }
+        request.setAttribute(ETAG_ATTRIBUTE, quoted);
+        request.setAttribute(CATALOG_DOCUMENT_ATTRIBUTE, catalogDocument);
+        return true;
+    }
+
+    /**
+     * Sets the ETag and cache headers of a successful or not-modified catalog
+     * response.
+     */
+    static void writeValidatorHeaders(HttpHeaders headers, String etag, boolean catalogDocument) {
+        headers.setETag(etag);
+        // Browsers must revalidate, but may keep the body; also stops Spring Security adding no-store.
+        // The full catalog document may be reused for a while before revalidating.
+        headers.setCacheControl(catalogDocument ? CATALOG_DOCUMENT_CACHE_CONTROL : "no-cache");
+        if (catalogDocument && !headers.getVary().contains(HttpHeaders.ACCEPT_ENCODING)) {
+            // The 304 must vary like the 200 it revalidates.
+            List<String> vary = new ArrayList<>(headers.getVary());
+            vary.add(HttpHeaders.ACCEPT_ENCODING);
+            headers.setVary(vary);
+        }
+    }
+
+    // Weak comparison, as RFC 9110 prescribes for If-None-Match.
+    private static boolean matchesIfNoneMatch(HttpServletRequest request, String etag) {
+        for (String header : Collections.list(request.getHeaders(HttpHeaders.IF_NONE_MATCH))) {
+            for (String candidate : header.split(",")) {
+                String tag = candidate.trim();
+                if (tag.startsWith("W/")) {
+                    tag = tag.substring(2);
+                }
+                if (tag.equals("*") || tag.equals(etag)) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+
+    private static boolean isUnseededShuffle(HttpServletRequest request) {
+        String path = request.getRequestURI();
+        boolean shuffled = path.equals("/api/orgs") || path.equals("/api/orgs/") || path.equals("/api/orgs/feed");
+        return shuffled && isBlank(request.getParameter("seed")) && isBlank(request.getParameter("cursor"));
+    }
+
+    private static boolean isBlank(String value) {
+        return value == null || value.isEmpty();
+    }
+
+    private static String requestChecksum(HttpServletRequest request) {
+        CRC32 crc = new CRC32();
+        crc.update(request.getRequestURI().getBytes(StandardCharsets.UTF_8));
+        if (request.getQueryString() != null) {
+            crc.update('?');
+            crc.update(request.getQueryString().getBytes(StandardCharsets.UTF_8));
+        }
+        return Long.toHexString(crc.getValue());
+    }
+}
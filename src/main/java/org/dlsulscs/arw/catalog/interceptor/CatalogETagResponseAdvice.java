@@ -0,0 +1,45 @@
+package org.dlsulscs.arw.catalog.interceptor;
+
+import jakarta.servlet.http.HttpServletRequest;
+import org.springframework.core.MethodParameter;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.http.server.ServerHttpRequest;
+import org.springframework.http.server.ServerHttpResponse;
+import org.springframework.http.server.ServletServerHttpRequest;
+import org.springframework.http.server.ServletServerHttpResponse;
+import org.springframework.web.bind.annotation.ControllerAdvice;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyAdvice;
+
+/**
+ * Adds the ETag that {@link CatalogETagInterceptor} computed for a catalog
+ * read just before the body is written, and only if the response is 2xx.
+ * Error bodies, such as the 404 for an unknown organization, go out without a
+ * validator or cache headers.
+ */
+@ControllerAdvice
+public class CatalogETagResponseAdvice implements ResponseBodyAdvice<Object> {
+
+    @Override
+    public boolean supports(MethodParameter returnType, Class<? extends HttpMessageConverter<?>> converterType) {
+        return true;
+    }
+
+    @Override
+    public Object beforeBodyWrite(Object body, MethodParameter returnType, MediaType selectedContentType,
+            Class<? extends HttpMessageConverter<?>> selectedConverterType, ServerHttpRequest request,
+            ServerHttpResponse response) {
+        if (!(request instanceof ServletServerHttpRequest servletRequest)
+                || !(response instanceof ServletServerHttpResponse servletResponse)) {
+            return body;
+        }
+        HttpServletRequest httpRequest = servletRequest.getServletRequest();
+        Object etag = httpRequest.getAttribute(CatalogETagInterceptor.ETAG_ATTRIBUTE);
+        int status = servletResponse.getServletResponse().getStatus();
+        if (etag instanceof String value && status >= 200 && status < 300) {
+            CatalogETagInterceptor.writeValidatorHeaders(response.getHeaders(), value,
+                    Boolean.TRUE.equals(httpRequest.getAttribute(CatalogETagInterceptor.CATALOG_DOCUMENT_ATTRIBUTE)));
+        }
+        return body;
+    }
+}
@@ -0,0 +1,41 @@
+package org.dlsulscs.arw.catalog.model;
+
+import java.util.Locale;
+
+/**
+ * The whole catalog as one JSON document, encoded once per catalog version
+ * and kept both uncompressed and gzipped so requests only copy bytes.
+ *
+ * @param version      the catalog version the document was built from
+ * @param organizations the number of organizations in it
+ * @param json         the UTF-8 JSON body
+ * @param gzip         {@code json}, gzipped
+ */
+public record CatalogDocument(long version, int organizations, byte[] json, byte[] gzip) {
+
+    /**
+     * Whether the gzipped body should be sent for a request with this
+     * {@code Accept-Encoding} header.
+     */
+    public static boolean acceptsGzip(String acceptEncoding) {
+        if (acceptEncoding == null) {
+            return false;
+        }
+        for (String coding : acceptEncoding.split(",")) {
+            String[] parts = coding.split(";");
+            String name = parts[0].trim().toLowerCase(Locale.ROOT);
+            if (!name.equals("gzip") && !name.equals("x-gzip")) {
+                continue;
+            }
+            // "gzip;q=0" means the client refuses it.
+            for (int i = 1; i < parts.length; i++) {
+                String param = parts[i].trim();
+                if (param.startsWith("q=") && param.substring(2).trim().matches("0(\\.0*)?")) {
+                    return false;
+                }
+            }
+            return true;
+        }
+        return false;
+    }
+}
@@ -0,0 +1,52 @@
+package org.dlsulscs.arw.catalog.model;
+
+import com.fasterxml.jackson.core.io.SerializedString;
+import com.fasterxml.jackson.databind.util.RawValue;
+import org.dlsulscs.arw.organization.dto.OrganizationResponseDto;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Locale;
+
+/**
+ * One organization in a {@link CatalogSnapshot}, together with the
+ * precomputed keys the listing needs so that requests never lowercase or
+ * re-encode anything.
+ *
+ * @param organization   the fully joined organization (cluster and publications)
+ * @param shortNameKey   lowercased short name, or {@code null}
+ * @param clusterNameKey lowercased cluster name, or {@code null} when the org has
+ *                       no cluster
+ * @param seedPrefix     UTF-8 bytes of {@code id::text}, the prefix hashed by the
+ *                       seeded shuffle
+ * @param json           the organization already serialized; Jackson copies its
+ *                       cached UTF-8 bytes straight into the response
+ */
+public record CatalogEntry(
+        OrganizationResponseDto organization,
+        String shortNameKey,
+        String clusterNameKey,
+        byte[] seedPrefix,
+        RawValue json
+) {
+
+    /**
+     * @param json the JSON encoding of {@code organization}
+     */
+    public static CatalogEntry of(OrganizationResponseDto organization, String json) {
+        String shortNameKey = organization.shortName() != null
+                ? organization.shortName().toLowerCase(Locale.ROOT)
+                : null;
+        String clusterNameKey = organization.cluster() != null && organization.cluster().name() != null
+                ? organization.cluster().name().toLowerCase(Locale.ROOT)
+                : null;
+        byte[] seedPrefix = organization.id().toString().getBytes(StandardCharsets.UTF_8);
+        SerializedString serialized = new SerializedString(json);
+        // Encode once now so no request ever has to.
+        serialized.asUnquotedUTF8();
+        return new CatalogEntry(organization, shortNameKey, clusterNameKey, seedPrefix, new RawValue(serialized));
+    }
+
+    public Integer id() {
+        return organization.id();
+    }
+}
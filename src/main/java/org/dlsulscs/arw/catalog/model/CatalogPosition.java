@@ -0,0 +1,26 @@
+package org.dlsulscs.arw.catalog.model;
+
+import java.util.Arrays;
+import java.util.Comparator;
+
+/**
+ * Position of an organization in a seeded shuffle: the
+ * {@code (priority, md5(id::text || seed), id)} tuple the listing is ordered
+ * by. Comparing the raw digests as unsigned bytes gives the same order as
+ * Postgres comparing the lowercase hex strings that {@code md5()} returns.
+ *
+ * @param priority 0 for prioritized organizations, 1 otherwise
+ * @param hash     the 16-byte MD5 digest
+ * @param id       the organization id, used as a tie-breaker
+ */
+public record CatalogPosition(int priority, byte[] hash, int id) implements Comparable<CatalogPosition> {
+
+    private static final Comparator<CatalogPosition> ORDER = Comparator.comparingInt(CatalogPosition::priority)
+            .thenComparing(CatalogPosition::hash, Arrays::compareUnsigned)
+            .thenComparingInt(CatalogPosition::id);
+
+    @Override
+    public int compareTo(CatalogPosition other) {
+        return ORDER.compare(this, other);
+    }
+}
@@ -0,0 +1,44 @@
+package org.dlsulscs.arw.catalog.model;
+
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Immutable, versioned view of every organization joined with its cluster and
+ * publications. A new snapshot replaces the old one whenever the catalog
+ * changes; readers holding an older instance keep a consistent view.
+ *
+ * @param version     the catalog version this snapshot was built for
+ * @param entries     all organizations, ordered by id
+ * @param byId        the same entries keyed by organization id
+ * @param byName      the same entries keyed by lowercased name
+ * @param byShortName the entries that have a short name, keyed by it lowercased
+ */
+public record CatalogSnapshot(
+        long version,
+        List<CatalogEntry> entries,
+        Map<Integer, CatalogEntry> byId,
+        Map<String, CatalogEntry> byName,
+        Map<String, CatalogEntry> byShortName
+) {
+
+    public static CatalogSnapshot of(long version, List<CatalogEntry> entries) {
+        Map<Integer, CatalogEntry> byId = entries.stream()
+                .collect(Collectors.toUnmodifiableMap(CatalogEntry::id, Function.identity()));
+        // Names are assumed unique; should two collide, the lower id wins.
+        Map<String, CatalogEntry> byName = entries.stream()
+                .filter(entry -> entry.organization().name() != null)
+                .collect(Collectors.toUnmodifiableMap(
+                        entry -> entry.organization().name().toLowerCase(Locale.ROOT),
+                        Function.identity(),
+                        (first, second) -> first));
+        Map<String, CatalogEntry> byShortName = entries.stream()
+                .filter(entry -> entry.shortNameKey() != null)
+                .collect(Collectors.toUnmodifiableMap(CatalogEntry::shortNameKey, Function.identity(),
+                        (first, second) -> first));
+        return new CatalogSnapshot(version, List.copyOf(entries), byId, byName, byShortName);
+    }
+}
@@ -0,0 +1,85 @@
+package org.dlsulscs.arw.catalog.model;
+
+import org.dlsulscs.arw.common.exception.BadRequestException;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.Base64;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.TreeSet;
+
+/**
+ * Opaque continuation token of the org feed. It carries everything needed to
+ * resume the shuffle: the seed, the cluster filter, the prioritized short
+ * names, and the position of the last organization already returned.
+ *
+ * @param seed        the shuffle seed
+ * @param cluster     the cluster filter, or {@code null}
+ * @param prioritized the lowercased short names listed first, or {@code null}
+ *                    for a version 1 cursor, which did not record them
+ * @param after       the position of the last organization of the previous page
+ */
+public record FeedCursor(String seed, String cluster, Set<String> prioritized, CatalogPosition after) {
+
+    private static final int FORMAT_VERSION = 2;
+    private static final int FORMAT_VERSION_WITHOUT_PRIORITIZED = 1;
+
+    public String encode() {
+        try (ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+                DataOutputStream out = new DataOutputStream(bytes)) {
+            out.writeByte(FORMAT_VERSION);
+            out.writeUTF(seed);
+            out.writeBoolean(cluster != null);
+            if (cluster != null) {
+                out.writeUTF(cluster);
+            }
+            // Sorted so the same request always yields the same token.
+            Set<String> names = new TreeSet<>(prioritized);
+            out.writeShort(names.size());
+            for (String name : names) {
+                out.writeUTF(name);
+            }
+            out.writeByte(after.priority());
+            out.writeByte(after.hash().length);
+            out.write(after.hash());
+            out.writeInt(after.id());
+            out.flush();
+            return Base64.getUrlEncoder().withoutPadding().encodeToString(bytes.toByteArray());
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    public static FeedCursor decode(String token) {
+        try (DataInputStream in = new DataInputStream(
+                new ByteArrayInputStream(Base64.getUrlDecoder().decode(token)))) {
+            int version = in.readUnsignedByte();
+            if (version != FORMAT_VERSION && version != FORMAT_VERSION_WITHOUT_PRIORITIZED) {
+                throw new BadRequestException("Unsupported cursor");
+            }
+            String seed = in.readUTF();
+            String cluster = in.readBoolean() ? in.readUTF() : null;
+            Set<String> prioritized = null;
+            if (version == FORMAT_VERSION) {
+                int count = in.readUnsignedShort();
+                prioritized = new HashSet<>(count);
+                for (int i = 0; i < count; i++) {
+                    prioritized.add(in.readUTF());
+                }
+            }
+            int priority = in.readUnsignedByte();
+            byte[] hash = new byte[in.readUnsignedByte()];
+            in.readFully(hash);
+            int id = in.readInt();
+            return new FeedCursor(seed, cluster, prioritized == null ? null : Set.copyOf(prioritized),
+                    new CatalogPosition(priority, hash, id));
+        } catch (IOException | IllegalArgumentException e) {
+            throw new BadRequestException("Malformed cursor");
+        }
+    }
+}
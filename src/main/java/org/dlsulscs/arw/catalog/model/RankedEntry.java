@@ -0,0 +1,7 @@
+package org.dlsulscs.arw.catalog.model;
+
+/**
+ * A catalog entry together with its position in a particular seeded shuffle.
+ */
+public record RankedEntry(CatalogEntry entry, CatalogPosition position) {
+}
@@ -0,0 +1,234 @@
+package org.dlsulscs.arw.catalog.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.annotation.PreDestroy;
+import org.dlsulscs.arw.catalog.event.CatalogChangedEvent;
+import org.postgresql.PGConnection;
+import org.postgresql.PGNotification;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.List;
+import java.util.Properties;
+import java.util.UUID;
+
+/**
+ * Keeps the in-memory read models of every API replica in sync over Postgres
+ * {@code LISTEN/NOTIFY}.
+ *
+ * <p>
+ * Each local {@link CatalogChangedEvent} is sent on the {@value #CHANNEL}
+ * channel from inside the writing transaction; Postgres only delivers it once
+ * that transaction commits, and drops it on rollback. Every replica holds one
+ * dedicated connection (outside the pool) that listens on the channel and
+ * republishes other replicas' changes as {@linkplain CatalogChangedEvent#remote()
+ * remote} events, so the catalog, suggest index, cluster registry and lookup
+ * cache evict exactly what the writer changed.
+ * </p>
+ *
+ * <p>
+ * Notifications sent while the listener is disconnected are lost, so after a
+ * reconnect every kind is announced as changed and the read models resync in
+ * full.
+ * </p>
+ */
+@Service
+public class CatalogNotificationBus {
+    private static final Logger log = LoggerFactory.getLogger(CatalogNotificationBus.class);
+
+    static final String CHANNEL = "catalog_changed";
+    static final String APPLICATION_NAME = "arw-catalog-listener";
+
+    // Postgres rejects payloads of 8000 bytes or more; larger changes are sent as "everything changed".
+    private static final int MAX_PAYLOAD_BYTES = 7900;
+    private static final int POLL_TIMEOUT_MS = 500;
+    private static final long VALIDATE_INTERVAL_MS = 30_000;
+    private static final long MIN_BACKOFF_MS = 1_000;
+    private static final long MAX_BACKOFF_MS = 30_000;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final DataSourceProperties dataSourceProperties;
+    private final ApplicationEventPublisher eventPublisher;
+    private final ObjectMapper objectMapper;
+    private final boolean enabled;
+    private final String origin = UUID.randomUUID().toString();
+    private volatile boolean running;
+    private volatile Thread listenerThread;
+
+    @Autowired
+    public CatalogNotificationBus(JdbcTemplate jdbcTemplate, DataSourceProperties dataSourceProperties,
+            ApplicationEventPublisher eventPublisher, ObjectMapper objectMapper,
+            @Value("${app.catalog-notify.enabled:true}") boolean enabled) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.dataSourceProperties = dataSourceProperties;
+        this.eventPublisher = eventPublisher;
+        this.objectMapper = objectMapper;
+        this.enabled = enabled;
+    }
+
+    /**
+     * Sends a local change to the other replicas. Runs before commit so the
+     * {@code NOTIFY} is part of the writing transaction; writes made without a
+     * transaction are sent right away.
+     */
+    @TransactionalEventListener(phase = TransactionPhase.BEFORE_COMMIT, fallbackExecution = true)
+    public void onCatalogChanged(CatalogChangedEvent event) {
+        if (!enabled || event.remote()) {
+            return;
+        }
+        String payload = toPayload(new Notification(origin, event.kind(), event.ids()));
+        if (payload.length() > MAX_PAYLOAD_BYTES) {
+            payload = toPayload(new Notification(origin, event.kind(), List.of()));
+        }
+        jdbcTemplate.query("SELECT pg_notify(?, ?)", rs -> { }, CHANNEL, payload);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        if (!enabled || running) {
+            return;
+        }
+        running = true;
+        Thread thread = new Thread(this::listen, APPLICATION_NAME);
+        thread.setDaemon(true);
+        thread.start();
+        listenerThread = thread;
+    }
+
+    @PreDestroy
+    public void stop() {
+        running = false;
+        Thread thread = listenerThread;
+        if (thread != null) {
+            thread.interrupt();
+        }
+    }
+
+    private void listen() {
+        boolean listenedBefore = false;
+        long backoffMs = MIN_BACKOFF_MS;
+        while (running) {
+            try (Connection connection = connect()) {
+                try (Statement statement = connection.createStatement()) {
+                    statement.execute("LISTEN " + CHANNEL);
+                }
+                log.info("Listening for catalog changes from other replicas on channel {}", CHANNEL);
+                if (listenedBefore) {
+                    resync();
+                }
+                listenedBefore = true;
+                backoffMs = MIN_BACKOFF_MS;
+                poll(connection);
+            } catch (SQLException | RuntimeException e) {
+                if (!running) {
+                    return;
+                }
+                log.warn("Catalog listener connection lost, retrying in {} ms: {}", backoffMs, e.getMessage());
+                try {
+                    Thread.sleep(backoffMs);
+                } catch (InterruptedException interrupted) {
+                    return;
+                }
+                backoffMs = Math.min(backoffMs * 2, MAX_BACKOFF_MS);
+            }
+        }
+    }
+
+    private void poll(Connection connection) throws SQLException {
+        PGConnection pgConnection = connection.unwrap(PGConnection.class);
+        long lastValidated = System.currentTimeMillis();
+        while (running) {
+            PGNotification[] notifications = pgConnection.getNotifications(POLL_TIMEOUT_MS);
+            if (notifications != null) {
+                for (PGNotification notification : notifications) {
+                    receive(notification.getParameter());
+                }
+            }
+            // A half-open connection never throws on its own.
+            if (System.currentTimeMillis() - lastValidated > VALIDATE_INTERVAL_MS) {
+                if (!connection.isValid(5)) {
+                    throw new SQLException("Listener connection is no longer valid");
+                }
+                lastValidated = System.currentTimeMillis();
+            }
+        }
+    }
+
+    private void receive(String payload) {
+        Notification notification;
+        try {
+            notification = objectMapper.readValue(payload, Notification.class);
+        } catch (JsonProcessingException e) {
+            log.warn("Ignoring malformed catalog notification: {}", payload);
+            return;
+        }
+        if (origin.equals(notification.origin()) || notification.kind() == null) {
+            return;
+        }
+        publishRemote(notification.kind(), notification.ids());
+    }
+
+    private void resync() {
+        log.info("Resyncing catalog read models after reconnect");
+        for (CatalogChangedEvent.Kind kind : CatalogChangedEvent.Kind.values()) {
+            publishRemote(kind, List.of());
+        }
+    }
+
+    /**
+     * Listeners run on the listener thread, so a failing one is logged rather
+     * than allowed to end it.
+     */
+    private void publishRemote(CatalogChangedEvent.Kind kind, List<Integer> ids) {
+        try {
+            eventPublisher.publishEvent(CatalogChangedEvent.remote(kind, ids));
+        } catch (RuntimeException e) {
+            log.warn("Failed to apply remote {} change {}", kind, ids, e);
+        }
+    }
+
+    private Connection connect() throws SQLException {
+        Properties properties = new Properties();
+        String username = dataSourceProperties.determineUsername();
+        String password = dataSourceProperties.determinePassword();
+        if (username != null) {
+            properties.setProperty("user", username);
+        }
+        if (password != null) {
+            properties.setProperty("password", password);
+        }
+        properties.setProperty("ApplicationName", APPLICATION_NAME);
+        properties.setProperty("tcpKeepAlive", "true");
+        return DriverManager.getConnection(dataSourceProperties.determineUrl(), properties);
+    }
+
+    private String toPayload(Notification notification) {
+        try {
+            return objectMapper.writeValueAsString(notification);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Could not serialize catalog notification", e);
+        }
+    }
+
+    record Notification(String origin, CatalogChangedEvent.Kind kind, List<Integer> ids) {
+
+        Notification {
+            ids = ids == null ? List.of() : ids;
+        }
+    }
+}
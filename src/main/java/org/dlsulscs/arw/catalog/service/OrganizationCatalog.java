@@ -0,0 +1,262 @@
+package org.dlsulscs.arw.catalog.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.util.RawValue;
+import org.dlsulscs.arw.catalog.event.CatalogChangedEvent;
+import org.dlsulscs.arw.catalog.model.CatalogDocument;
+import org.dlsulscs.arw.catalog.model.CatalogEntry;
+import org.dlsulscs.arw.catalog.model.CatalogPosition;
+import org.dlsulscs.arw.catalog.model.CatalogSnapshot;
+import org.dlsulscs.arw.catalog.model.RankedEntry;
+import org.dlsulscs.arw.organization.dto.OrganizationResponseDto;
+import org.dlsulscs.arw.organization.dto.OrganizationRow;
+import org.dlsulscs.arw.organization.repository.OrganizationRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.security.SecureRandom;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Locale;
+import java.util.Optional;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+import java.util.zip.Deflater;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Holds the in-memory {@link CatalogSnapshot} that serves the organization
+ * listing.
+ *
+ * <p>
+ * Every committed write to organizations, publications or clusters bumps the
+ * catalog version. The next read notices the stale snapshot and rebuilds it
+ * with a single projection query; all other reads are served from memory.
+ * Each organization is serialized to JSON once per snapshot, and the full
+ * catalog document once (uncompressed and gzipped), so responses only copy
+ * bytes.
+ * </p>
+ */
+@Service
+public class OrganizationCatalog {
+    private static final Logger log = LoggerFactory.getLogger(OrganizationCatalog.class);
+
+    private final OrganizationRepository organizationRepository;
+    private final ObjectMapper objectMapper;
+    private final AtomicLong version = new AtomicLong(1);
+    // Versions restart at 1 on every boot and count independently on each replica.
+    private final String bootId = Long.toHexString(new SecureRandom().nextLong());
+    private final Object rebuildLock = new Object();
+    private final Object documentLock = new Object();
+    private volatile CatalogSnapshot snapshot;
+    private volatile CatalogDocument document;
+
+    @Autowired
+    public OrganizationCatalog(OrganizationRepository organizationRepository, ObjectMapper objectMapper) {
+        this.organizationRepository = organizationRepository;
+        this.objectMapper = objectMapper;
+    }
+
+    /**
+     * The current catalog version. It only ever increases.
+     */
+    public long version() {
+        return version.get();
+    }
+
+    /**
+     * The current version qualified by this process's random boot id, so that
+     * two replicas, or two runs of one, never report the same value for
+     * different data. Suitable as a cache validator.
+     */
+    public String validator() {
+        return bootId + "-" + version.get();
+    }
+
+    /**
+     * Returns a snapshot that reflects every write committed before this call,
+     * rebuilding it first if necessary.
+     */
+    public CatalogSnapshot snapshot() {
+        CatalogSnapshot current = this.snapshot;
+        if (current != null && current.version() == version.get()) {
+            return current;
+        }
+        synchronized (rebuildLock) {
+            current = this.snapshot;
+            long target = version.get();
+            if (current != null && current.version() == target) {
+                return current;
+            }
+            List<CatalogEntry> entries = organizationRepository.findAllRows().stream()
+                    .map(OrganizationRow::toResponseDto)
+                    .map(this::toEntry)
+                    .toList();
+            current = CatalogSnapshot.of(target, entries);
+            this.snapshot = current;
+            log.debug("Rebuilt organization catalog v{} with {} organizations", target, entries.size());
+            return current;
+        }
+    }
+
+    /**
+     * Returns the whole catalog as one document, built (and compressed) at most
+     * once per catalog version.
+     */
+    public CatalogDocument document() {
+        CatalogSnapshot current = snapshot();
+        CatalogDocument doc = this.document;
+        if (doc != null && doc.version() == current.version()) {
+            return doc;
+        }
+        synchronized (documentLock) {
+            doc = this.document;
+            if (doc != null && doc.version() >= current.version()) {
+                return doc;
+            }
+            byte[] json;
+            try {
+                json = objectMapper.writeValueAsBytes(new DocumentBody(current.version(),
+                        current.entries().stream().map(CatalogEntry::json).toList()));
+            } catch (JsonProcessingException e) {
+                throw new IllegalStateException("Could not serialize catalog v" + current.version(), e);
+            }
+            doc = new CatalogDocument(current.version(), current.entries().size(), json, gzip(json));
+            this.document = doc;
+            log.debug("Built catalog document v{}: {} bytes, {} gzipped", doc.version(), json.length,
+                    doc.gzip().length);
+            return doc;
+        }
+    }
+
+    public Optional<CatalogEntry> findById(Integer id) {
+        return Optional.ofNullable(snapshot().byId().get(id));
+    }
+
+    public Optional<CatalogEntry> findByName(String name) {
+        return Optional.ofNullable(snapshot().byName().get(name.toLowerCase(Locale.ROOT)));
+    }
+
+    public Optional<CatalogEntry> findByShortName(String shortName) {
+        return Optional.ofNullable(snapshot().byShortName().get(shortName.toLowerCase(Locale.ROOT)));
+    }
+
+    private CatalogEntry toEntry(OrganizationResponseDto organization) {
+        try {
+            return CatalogEntry.of(organization, objectMapper.writeValueAsString(organization));
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Could not serialize organization " + organization.id(), e);
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onCatalogChanged(CatalogChangedEvent event) {
+        version.incrementAndGet();
+    }
+
+    /**
+     * Returns the organizations of the current snapshot in the same order as
+     * {@code ORDER BY CASE WHEN lower(short_name) IN (:prioritized) THEN 0 ELSE 1 END, md5(id::text || :seed)},
+     * optionally restricted to a cluster.
+     *
+     * @param clusterName case-insensitive cluster filter, or {@code null}
+     * @param seed        the shuffle seed
+     * @param prioritized lowercased short names to list first, possibly empty
+     */
+    public List<CatalogEntry> shuffled(String clusterName, String seed, Set<String> prioritized) {
+        List<RankedEntry> ranked = new ArrayList<>();
+        forEachRanked(snapshot(), clusterName, seed, prioritized, ranked::add);
+        ranked.sort(Comparator.comparing(RankedEntry::position));
+        return ranked.stream().map(RankedEntry::entry).toList();
+    }
+
+    /**
+     * Keyset variant of {@link #shuffled}: returns at most {@code limit}
+     * organizations that come strictly after {@code after} in the shuffle.
+     *
+     * <p>
+     * Only a bounded heap of {@code limit} candidates is kept, so a deep page
+     * costs the same as the first one instead of growing with the offset.
+     * </p>
+     *
+     * @param after the position of the last organization already returned, or
+     *              {@code null} for the first page
+     */
+    public List<RankedEntry> seek(String clusterName, String seed, Set<String> prioritized, CatalogPosition after,
+            int limit) {
+        CatalogSnapshot current = snapshot();
+        // Max-heap on position: the head is the worst candidate kept so far.
+        PriorityQueue<RankedEntry> best = new PriorityQueue<>(Math.min(limit, current.entries().size()) + 1,
+                Comparator.comparing(RankedEntry::position).reversed());
+        forEachRanked(current, clusterName, seed, prioritized, ranked -> {
+            if (after != null && ranked.position().compareTo(after) <= 0) {
+                return;
+            }
+            if (best.size() < limit) {
+                best.add(ranked);
+            } else if (limit > 0 && ranked.position().compareTo(best.peek().position()) < 0) {
+                best.poll();
+                best.add(ranked);
+            }
+        });
+        List<RankedEntry> page = new ArrayList<>(best);
+        page.sort(Comparator.comparing(RankedEntry::position));
+        return page;
+    }
+
+    private static void forEachRanked(CatalogSnapshot current, String clusterName, String seed,
+            Set<String> prioritized, Consumer<RankedEntry> consumer) {
+        String clusterKey = clusterName != null ? clusterName.toLowerCase(Locale.ROOT) : null;
+        byte[] seedBytes = seed.getBytes(StandardCharsets.UTF_8);
+        MessageDigest md5 = newMd5();
+
+        for (CatalogEntry entry : current.entries()) {
+            if (clusterKey != null && !clusterKey.equals(entry.clusterNameKey())) {
+                continue;
+            }
+            int priority = entry.shortNameKey() != null && prioritized.contains(entry.shortNameKey()) ? 0 : 1;
+            md5.update(entry.seedPrefix());
+            byte[] hash = md5.digest(seedBytes);
+            consumer.accept(new RankedEntry(entry, new CatalogPosition(priority, hash, entry.id())));
+        }
+    }
+
+    // Compressed once per version, so spend the CPU on the best ratio.
+    private static byte[] gzip(byte[] data) {
+        ByteArrayOutputStream out = new ByteArrayOutputStream(data.length / 4 + 64);
+        try (GZIPOutputStream gzip = new GZIPOutputStream(out) {
+            {
+                def.setLevel(Deflater.BEST_COMPRESSION);
+            }
+        }) {
+            gzip.write(data);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return out.toByteArray();
+    }
+
+    private static MessageDigest newMd5() {
+        try {
+            return MessageDigest.getInstance("MD5");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("MD5 is not available", e);
+        }
+    }
+
+    private record DocumentBody(long version, List<RawValue> organizations) {
+    }
+}
@@ -1,8 +1,25 @@
 package org.dlsulscs.arw.cluster.dto;
 
+import org.dlsulscs.arw.cluster.model.Cluster;
+
 public record ClusterDto(
         Integer id,
         String name,
         String description
 ) {
+
+    public static ClusterDto fromEntity(Cluster cluster) {
+        if (cluster == null) {
+            return null;
+        }
+        return new ClusterDto(cluster.getId(), cluster.getName(), cluster.getDescription());
+    }
+
+    /**
+     * A new, detached {@link Cluster} with the same values. Safe to assign to
+     * an organization: only the id is written.
+     */
+    public Cluster toEntity() {
+        return new Cluster(id, name, description);
+    }
 }
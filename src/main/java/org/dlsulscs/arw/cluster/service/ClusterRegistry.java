@@ -0,0 +1,145 @@
+package org.dlsulscs.arw.cluster.service;
+
+import org.dlsulscs.arw.catalog.event.CatalogChangedEvent;
+import org.dlsulscs.arw.cluster.dto.ClusterDto;
+import org.dlsulscs.arw.cluster.model.Cluster;
+import org.dlsulscs.arw.cluster.repository.ClusterRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * In-memory copy of the {@code clusters} table, indexed by id and by
+ * lowercased name.
+ *
+ * <p>
+ * It is loaded once at startup and then kept current by {@link ClusterService},
+ * which writes every saved or deleted cluster through to it; clusters written
+ * by other replicas arrive as remote catalog events. Each write swaps
+ * in a new immutable snapshot, so readers never lock and never see a
+ * half-applied change. Callers get {@link ClusterDto}s; {@link ClusterService}
+ * turns them into detached {@link Cluster} copies.
+ * </p>
+ */
+@Service
+public class ClusterRegistry {
+    private static final Logger log = LoggerFactory.getLogger(ClusterRegistry.class);
+
+    private final ClusterRepository clusterRepository;
+    private final Object writeLock = new Object();
+    private volatile Snapshot snapshot;
+
+    @Autowired
+    public ClusterRegistry(ClusterRepository clusterRepository) {
+        this.clusterRepository = clusterRepository;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void load() {
+        synchronized (writeLock) {
+            Map<Integer, ClusterDto> clusters = new HashMap<>();
+            for (Cluster cluster : clusterRepository.findAll()) {
+                clusters.put(cluster.getId(), ClusterDto.fromEntity(cluster));
+            }
+            this.snapshot = Snapshot.of(clusters);
+            log.info("Loaded cluster registry with {} clusters", clusters.size());
+        }
+    }
+
+    /**
+     * All clusters, ordered by id.
+     */
+    public List<ClusterDto> findAll() {
+        return current().all();
+    }
+
+    public Optional<ClusterDto> findById(Integer id) {
+        return Optional.ofNullable(current().byId().get(id));
+    }
+
+    public Optional<ClusterDto> findByName(String name) {
+        return Optional.ofNullable(current().byName().get(name.toLowerCase(Locale.ROOT)));
+    }
+
+    /**
+     * @param names lowercased cluster names
+     * @return the known clusters keyed by lowercased name; unknown names are
+     *         absent
+     */
+    public Map<String, ClusterDto> findByLowerNames(Collection<String> names) {
+        Map<String, ClusterDto> byName = current().byName();
+        Map<String, ClusterDto> clusters = new HashMap<>();
+        for (String name : names) {
+            ClusterDto cluster = byName.get(name);
+            if (cluster != null) {
+                clusters.put(name, cluster);
+            }
+        }
+        return clusters;
+    }
+
+    /**
+     * Adds or replaces a cluster that has just been saved.
+     */
+    public void put(Cluster cluster) {
+        synchronized (writeLock) {
+            Map<Integer, ClusterDto> clusters = new HashMap<>(current().byId());
+            clusters.put(cluster.getId(), ClusterDto.fromEntity(cluster));
+            this.snapshot = Snapshot.of(clusters);
+        }
+    }
+
+    public void remove(Integer id) {
+        synchronized (writeLock) {
+            Map<Integer, ClusterDto> clusters = new HashMap<>(current().byId());
+            clusters.remove(id);
+            this.snapshot = Snapshot.of(clusters);
+        }
+    }
+
+    // Local writes are already written through; only other replicas' changes need a reload.
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onCatalogChanged(CatalogChangedEvent event) {
+        if (event.remote() && event.kind() == CatalogChangedEvent.Kind.CLUSTER && this.snapshot != null) {
+            load();
+        }
+    }
+
+    private Snapshot current() {
+        Snapshot current = this.snapshot;
+        if (current == null) {
+            load();
+            current = this.snapshot;
+        }
+        return current;
+    }
+
+    private record Snapshot(List<ClusterDto> all, Map<Integer, ClusterDto> byId, Map<String, ClusterDto> byName) {
+
+        static Snapshot of(Map<Integer, ClusterDto> clusters) {
+            List<ClusterDto> all = clusters.values().stream()
+                    .sorted(Comparator.comparing(ClusterDto::id))
+                    .toList();
+            Map<String, ClusterDto> byName = new HashMap<>();
+            for (ClusterDto cluster : all) {
+                if (cluster.name() != null) {
+                    // Names are not unique in the schema; keep the lowest id.
+                    byName.putIfAbsent(cluster.name().toLowerCase(Locale.ROOT), cluster);
+                }
+            }
+            return new Snapshot(all, Map.copyOf(clusters), Map.copyOf(byName));
+        }
+    }
+}
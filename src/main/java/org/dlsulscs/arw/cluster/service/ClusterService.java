@@ -1,52 +1,132 @@
 package org.dlsulscs.arw.cluster.service;
 
+import org.dlsulscs.arw.catalog.event.CatalogChangedEvent;
+import org.dlsulscs.arw.cluster.dto.ClusterDto;
 import org.dlsulscs.arw.cluster.model.Cluster;
 import org.dlsulscs.arw.cluster.repository.ClusterRepository;
 import org.dlsulscs.arw.common.exception.ResourceNotFoundException;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
 
+/**
+ * Cluster reads are served from the {@link ClusterRegistry} and never touch the
+ * database. They return detached copies, so callers may assign them to
+ * organizations or modify them without affecting the registry. Writes go to
+ * the database first and are then written through to the registry.
+ */
 @Service
 public class ClusterService {
     private final ClusterRepository clusterRepository;
+    private final ClusterRegistry clusterRegistry;
+    private final ApplicationEventPublisher eventPublisher;
 
     @Autowired
-    public ClusterService(ClusterRepository clusterRepository) {
+    public ClusterService(ClusterRepository clusterRepository, ClusterRegistry clusterRegistry,
+            ApplicationEventPublisher eventPublisher) {
         this.clusterRepository = clusterRepository;
+        this.clusterRegistry = clusterRegistry;
+        this.eventPublisher = eventPublisher;
     }
 
     public List<Cluster> getAllClusters() {
-        return clusterRepository.findAll();
+        return clusterRegistry.findAll().stream().map(ClusterDto::toEntity).toList();
     }
 
     // NOTE: this doesn't return null because of orElseThrow
     // - removing orElseThrow would require to return Optional<Cluster>
     public Cluster getClusterById(Integer id) {
-        return clusterRepository.findById(id)
+        return clusterRegistry.findById(id)
+                .map(ClusterDto::toEntity)
                 .orElseThrow(() -> new ResourceNotFoundException("Cluster not found with id: " + id));
     }
 
     public Cluster getClusterByName(String name) {
-        return clusterRepository.findByName(name)
+        if (name == null) {
+            throw new ResourceNotFoundException("Cluster not found with name: " + name);
+        }
+        return clusterRegistry.findByName(name)
+                .map(ClusterDto::toEntity)
                 .orElseThrow(() -> new ResourceNotFoundException("Cluster not found with name: " + name));
     }
 
+    /**
+     * Resolves several cluster names at once.
+     *
+     * @return the clusters keyed by lowercased name
+     * @throws ResourceNotFoundException if any of the names does not exist
+     */
+    public Map<String, Cluster> getClustersByNames(Collection<String> names) {
+        Set<String> keys = new HashSet<>();
+        for (String name : names) {
+            if (name == null) {
+                throw new ResourceNotFoundException("Cluster not found with name: " + name);
+            }
+            keys.add(name.toLowerCase(Locale.ROOT));
+        }
+        Map<String, Cluster> clusters = findClustersByNames(keys);
+        for (String name : names) {
+            if (!clusters.containsKey(name.toLowerCase(Locale.ROOT))) {
+                throw new ResourceNotFoundException("Cluster not found with name: " + name);
+            }
+        }
+        return clusters;
+    }
+
+    /**
+     * Lenient variant of {@link #getClustersByNames}: {@code null} and unknown
+     * names are simply absent from the result.
+     *
+     * @return the clusters keyed by lowercased name
+     */
+    public Map<String, Cluster> findClustersByNames(Collection<String> names) {
+        Set<String> keys = new HashSet<>();
+        for (String name : names) {
+            if (name != null) {
+                keys.add(name.toLowerCase(Locale.ROOT));
+            }
+        }
+        Map<String, Cluster> clusters = new HashMap<>();
+        clusterRegistry.findByLowerNames(keys)
+                .forEach((key, cluster) -> clusters.put(key, cluster.toEntity()));
+        return clusters;
+    }
+
     public Cluster createCluster(Cluster cluster) {
-        return clusterRepository.save(cluster);
+        Cluster savedCluster = clusterRepository.save(cluster);
+        clusterRegistry.put(savedCluster);
+        publishChange(savedCluster.getId());
+        return savedCluster;
     }
 
     public Cluster updateCluster(Integer id, Cluster clusterDetails) {
         Cluster cluster = getClusterById(id);
         cluster.setName(clusterDetails.getName());
         cluster.setDescription(clusterDetails.getDescription());
-        return clusterRepository.save(cluster);
+        Cluster savedCluster = clusterRepository.save(cluster);
+        clusterRegistry.put(savedCluster);
+        publishChange(savedCluster.getId());
+        return savedCluster;
     }
 
     public void deleteCluster(Integer id) {
         Cluster cluster = getClusterById(id);
         clusterRepository.delete(cluster);
+        clusterRegistry.remove(id);
+        publishChange(id);
+    }
+
+    // Org listings embed the cluster, so cluster writes are catalog changes too.
+    private void publishChange(Integer id) {
+        eventPublisher.publishEvent(CatalogChangedEvent.of(CatalogChangedEvent.Kind.CLUSTER, id));
     }
 
 }
@@ -0,0 +1,26 @@
+package org.dlsulscs.arw.common.dto;
+
+import org.springframework.data.domain.Slice;
+
+import java.util.List;
+
+/**
+ * Count-free page envelope for "See More" style pagination: it only says
+ * whether another page exists, so no total has to be computed.
+ *
+ * @param content  the items of this page
+ * @param page     zero-based page number
+ * @param pageSize requested page size
+ * @param hasNext  whether the next page has at least one item
+ */
+public record SliceResponseDto<T>(
+        List<T> content,
+        int page,
+        int pageSize,
+        boolean hasNext
+) {
+
+    public static <T> SliceResponseDto<T> of(Slice<T> slice) {
+        return new SliceResponseDto<>(slice.getContent(), slice.getNumber(), slice.getSize(), slice.hasNext());
+    }
+}
@@ -0,0 +1,86 @@
+package org.dlsulscs.arw.common.spreadsheet;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.Reader;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Streaming RFC 4180 CSV reader: comma-separated, optionally double-quoted
+ * fields, {@code ""} as an escaped quote, and line breaks inside quoted
+ * fields. A leading byte order mark is ignored.
+ */
+public class CsvSpreadsheetReader implements SpreadsheetReader {
+    private final BufferedReader reader;
+    private int rowNumber;
+
+    public CsvSpreadsheetReader(Reader reader) {
+        this.reader = reader instanceof BufferedReader buffered ? buffered : new BufferedReader(reader);
+    }
+
+    @Override
+    public SpreadsheetRow nextRow() throws IOException {
+        int c = reader.read();
+        if (rowNumber == 0 && c == '\uFEFF') {
+            c = reader.read();
+        }
+        if (c == -1) {
+            return null;
+        }
+
+        List<String> cells = new ArrayList<>();
+        StringBuilder cell = new StringBuilder();
+        boolean quoted = false;
+        boolean atFieldStart = true;
+        while (c != -1) {
+            if (quoted) {
+                if (c == '"') {
+                    reader.mark(1);
+                    int next = reader.read();
+                    if (next == '"') {
+                        cell.append('"');
+                    } else {
+                        quoted = false;
+                        if (next != -1) {
+                            reader.reset();
+                        }
+                    }
+                } else {
+                    cell.append((char) c);
+                }
+            } else if (c == '"' && atFieldStart) {
+                quoted = true;
+            } else if (c == ',') {
+                cells.add(cell.toString());
+                cell.setLength(0);
+                atFieldStart = true;
+                c = reader.read();
+                continue;
+            } else if (c == '\r' || c == '\n') {
+                if (c == '\r') {
+                    reader.mark(1);
+                    if (reader.read() != '\n') {
+                        reader.reset();
+                    }
+                }
+                break;
+            } else {
+                cell.append((char) c);
+            }
+            atFieldStart = false;
+            c = reader.read();
+        }
+        if (quoted) {
+            throw new IOException("Unterminated quoted field in CSV row " + (rowNumber + 1));
+        }
+        cells.add(cell.toString());
+        rowNumber++;
+        return new SpreadsheetRow(rowNumber, cells);
+    }
+
+    @Override
+    public void close() throws IOException {
+        reader.close();
+    }
+}
@@ -0,0 +1,17 @@
+package org.dlsulscs.arw.common.spreadsheet;
+
+import java.io.Closeable;
+import java.io.IOException;
+
+/**
+ * Forward-only reader over the rows of a spreadsheet. Implementations hold at
+ * most one row in memory (plus, for XLSX, the shared string table).
+ */
+public interface SpreadsheetReader extends Closeable {
+
+    /**
+     * @return the next row, or {@code null} once the sheet is exhausted
+     * @throws IOException if the file cannot be read or is malformed
+     */
+    SpreadsheetRow nextRow() throws IOException;
+}
@@ -0,0 +1,37 @@
+package org.dlsulscs.arw.common.spreadsheet;
+
+import java.util.List;
+
+/**
+ * One row of a spreadsheet.
+ *
+ * @param number 1-based row number as the user sees it in the file
+ * @param cells  the cell texts from the first column on; missing cells are
+ *               {@code null}
+ */
+public record SpreadsheetRow(int number, List<String> cells) {
+
+    /**
+     * @return the trimmed text of the cell, or {@code null} when the cell is
+     *         missing or blank
+     */
+    public String cell(int column) {
+        if (column < 0 || column >= cells.size()) {
+            return null;
+        }
+        String value = cells.get(column);
+        if (value == null || value.isBlank()) {
+            return null;
+        }
+        return value.strip();
+    }
+
+    public boolean isBlank() {
+        for (int column = 0; column < cells.size(); column++) {
+            if (cell(column) != null) {
+                return false;
+            }
+        }
+        return true;
+    }
+}
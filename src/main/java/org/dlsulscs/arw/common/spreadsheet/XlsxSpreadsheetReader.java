@@ -0,0 +1,279 @@
+package org.dlsulscs.arw.common.spreadsheet;
+
+import javax.xml.stream.XMLInputFactory;
+import javax.xml.stream.XMLStreamConstants;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipFile;
+
+/**
+ * Streaming reader for the first worksheet of an XLSX workbook.
+ *
+ * <p>
+ * The sheet XML is pulled with StAX one row at a time, so only the current row
+ * and the workbook's shared string table are ever held in memory. Cell values
+ * are returned as the text Excel stores: numbers keep their stored form and
+ * formulas yield their cached result.
+ * </p>
+ */
+public class XlsxSpreadsheetReader implements SpreadsheetReader {
+    private static final String RELATIONSHIPS_NS =
+            "http://schemas.openxmlformats.org/officeDocument/2006/relationships";
+    private static final XMLInputFactory XML_INPUT_FACTORY = newXmlInputFactory();
+    // Excel's own limit (column XFD); references are untrusted, so anything wider is rejected.
+    static final int MAX_COLUMNS = 16_384;
+
+    private final ZipFile zip;
+    private final List<String> sharedStrings;
+    private final InputStream sheetStream;
+    private final XMLStreamReader sheet;
+    private int lastRowNumber;
+
+    /**
+     * @param path the workbook on disk; XLSX needs random access to its parts
+     */
+    public XlsxSpreadsheetReader(Path path) throws IOException {
+        this.zip = new ZipFile(path.toFile());
+        try {
+            this.sharedStrings = readSharedStrings();
+            ZipEntry sheetEntry = zip.getEntry(firstSheetPath());
+            if (sheetEntry == null) {
+                throw new IOException("XLSX file has no worksheet");
+            }
+            this.sheetStream = zip.getInputStream(sheetEntry);
+            this.sheet = XML_INPUT_FACTORY.createXMLStreamReader(sheetStream);
+        } catch (XMLStreamException | IOException | RuntimeException e) {
+            zip.close();
+            throw e instanceof IOException io ? io : new IOException("Not a valid XLSX file", e);
+        }
+    }
+
+    @Override
+    public SpreadsheetRow nextRow() throws IOException {
+        try {
+            while (sheet.hasNext()) {
+                if (sheet.next() == XMLStreamConstants.START_ELEMENT && "row".equals(sheet.getLocalName())) {
+                    return readRow();
+                }
+            }
+            return null;
+        } catch (XMLStreamException e) {
+            throw new IOException("Malformed XLSX worksheet", e);
+        }
+    }
+
+    private SpreadsheetRow readRow() throws XMLStreamException, IOException {
+        String r = sheet.getAttributeValue(null, "r");
+        int rowNumber = r != null ? parseIndex(r, "row number") : lastRowNumber + 1;
+        if (rowNumber < 1) {
+            throw new IOException("Invalid XLSX row number: " + r);
+        }
+        lastRowNumber = rowNumber;
+
+        List<String> cells = new ArrayList<>();
+        int column = -1;
+        while (sheet.hasNext()) {
+            int event = sheet.next();
+            if (event == XMLStreamConstants.END_ELEMENT && "row".equals(sheet.getLocalName())) {
+                break;
+            }
+            if (event == XMLStreamConstants.START_ELEMENT && "c".equals(sheet.getLocalName())) {
+                String ref = sheet.getAttributeValue(null, "r");
+                column = ref != null ? columnIndex(ref) : column + 1;
+                if (column >= MAX_COLUMNS) {
+                    throw new IOException("XLSX row " + rowNumber + " has more than " + MAX_COLUMNS + " columns");
+                }
+                String value = readCell(sheet.getAttributeValue(null, "t"));
+                while (cells.size() <= column) {
+                    cells.add(null);
+                }
+                cells.set(column, value);
+            }
+        }
+        return new SpreadsheetRow(rowNumber, cells);
+    }
+
+    /**
+     * Reads a {@code <c>} element up to its end tag.
+     */
+    private String readCell(String type) throws XMLStreamException, IOException {
+        String raw = null;
+        StringBuilder inline = null;
+        while (sheet.hasNext()) {
+            int event = sheet.next();
+            if (event == XMLStreamConstants.END_ELEMENT && "c".equals(sheet.getLocalName())) {
+                break;
+            }
+            if (event != XMLStreamConstants.START_ELEMENT) {
+                continue;
+            }
+            if ("v".equals(sheet.getLocalName())) {
+                raw = sheet.getElementText();
+            } else if ("t".equals(sheet.getLocalName())) {
+                if (inline == null) {
+                    inline = new StringBuilder();
+                }
+                inline.append(sheet.getElementText());
+            }
+        }
+        if ("inlineStr".equals(type)) {
+            return inline != null ? inline.toString() : null;
+        }
+        if (raw == null) {
+            return null;
+        }
+        if ("s".equals(type)) {
+            int index = parseIndex(raw.strip(), "shared string index");
+            if (index < 0 || index >= sharedStrings.size()) {
+                throw new IOException("XLSX cell refers to missing shared string " + index);
+            }
+            return sharedStrings.get(index);
+        }
+        if ("b".equals(type)) {
+            return "1".equals(raw) ? "TRUE" : "FALSE";
+        }
+        return raw;
+    }
+
+    /**
+     * Converts the letters of a cell reference such as {@code AB12} into a
+     * 0-based column index.
+     *
+     * @throws IOException if the reference has no column letters or lies past
+     *                     column {@code XFD}
+     */
+    static int columnIndex(String ref) throws IOException {
+        int index = 0;
+        int i = 0;
+        for (; i < ref.length(); i++) {
+            char letter = Character.toUpperCase(ref.charAt(i));
+            if (letter < 'A' || letter > 'Z') {
+                break;
+            }
+            index = index * 26 + (letter - 'A' + 1);
+            if (index > MAX_COLUMNS) {
+                throw new IOException("XLSX cell reference out of range: " + ref);
+            }
+        }
+        if (i == 0) {
+            throw new IOException("Invalid XLSX cell reference: " + ref);
+        }
+        return index - 1;
+    }
+
+    private static int parseIndex(String value, String what) throws IOException {
+        try {
+            return Integer.parseInt(value);
+        } catch (NumberFormatException e) {
+            throw new IOException("Invalid XLSX " + what + ": " + value, e);
+        }
+    }
+
+    private List<String> readSharedStrings() throws IOException, XMLStreamException {
+        List<String> strings = new ArrayList<>();
+        ZipEntry entry = zip.getEntry("xl/sharedStrings.xml");
+        if (entry == null) {
+            return strings;
+        }
+        try (InputStream in = zip.getInputStream(entry)) {
+            XMLStreamReader xml = XML_INPUT_FACTORY.createXMLStreamReader(in);
+            StringBuilder current = null;
+            // Phonetic runs (<rPh>) carry readings, not cell text.
+            boolean inPhonetic = false;
+            while (xml.hasNext()) {
+                int event = xml.next();
+                if (event == XMLStreamConstants.START_ELEMENT) {
+                    switch (xml.getLocalName()) {
+                        case "si" -> current = new StringBuilder();
+                        case "rPh" -> inPhonetic = true;
+                        case "t" -> {
+                            String text = xml.getElementText();
+                            if (current != null && !inPhonetic) {
+                                current.append(text);
+                            }
+                        }
+                        default -> {
+                        }
+                    }
+                } else if (event == XMLStreamConstants.END_ELEMENT) {
+                    if ("si".equals(xml.getLocalName()) && current != null) {
+                        strings.add(current.toString());
+                        current = null;
+                    } else if ("rPh".equals(xml.getLocalName())) {
+                        inPhonetic = false;
+                    }
+                }
+            }
+            xml.close();
+        }
+        return strings;
+    }
+
+    /**
+     * Resolves the first sheet listed in the workbook to its part name.
+     */
+    private String firstSheetPath() throws IOException, XMLStreamException {
+        String relationshipId = null;
+        ZipEntry workbook = zip.getEntry("xl/workbook.xml");
+        if (workbook == null) {
+            throw new IOException("Not a valid XLSX file");
+        }
+        try (InputStream in = zip.getInputStream(workbook)) {
+            XMLStreamReader xml = XML_INPUT_FACTORY.createXMLStreamReader(in);
+            while (xml.hasNext() && relationshipId == null) {
+                if (xml.next() == XMLStreamConstants.START_ELEMENT && "sheet".equals(xml.getLocalName())) {
+                    relationshipId = xml.getAttributeValue(RELATIONSHIPS_NS, "id");
+                }
+            }
+            xml.close();
+        }
+
+        ZipEntry rels = zip.getEntry("xl/_rels/workbook.xml.rels");
+        if (relationshipId != null && rels != null) {
+            try (InputStream in = zip.getInputStream(rels)) {
+                XMLStreamReader xml = XML_INPUT_FACTORY.createXMLStreamReader(in);
+                while (xml.hasNext()) {
+                    if (xml.next() == XMLStreamConstants.START_ELEMENT
+                            && "Relationship".equals(xml.getLocalName())
+                            && relationshipId.equals(xml.getAttributeValue(null, "Id"))) {
+                        String target = xml.getAttributeValue(null, "Target");
+                        xml.close();
+                        return target.startsWith("/") ? target.substring(1) : "xl/" + target;
+                    }
+                }
+                xml.close();
+            }
+        }
+        return "xl/worksheets/sheet1.xml";
+    }
+
+    @Override
+    public void close() throws IOException {
+        try {
+            if (sheet != null) {
+                sheet.close();
+            }
+        } catch (XMLStreamException e) {
+            // Closing the zip below releases everything that matters.
+        } finally {
+            if (sheetStream != null) {
+                sheetStream.close();
+            }
+            zip.close();
+        }
+    }
+
+    private static XMLInputFactory newXmlInputFactory() {
+        XMLInputFactory factory = XMLInputFactory.newFactory();
+        // Uploaded files are untrusted: no DTDs, no external entities.
+        factory.setProperty(XMLInputFactory.SUPPORT_DTD, false);
+        factory.setProperty(XMLInputFactory.IS_SUPPORTING_EXTERNAL_ENTITIES, false);
+        return factory;
+    }
+}
@@ -5,13 +5,20 @@ import org.dlsulscs.arw.auth.filter.RedirectAuthenticatedUserFilter;
 import org.dlsulscs.arw.auth.service.AuthenticationSuccessHandler;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.core.annotation.Order;
+import org.springframework.http.HttpMethod;
 import org.springframework.security.config.annotation.web.builders.HttpSecurity;
 import org.springframework.security.config.annotation.web.configuration.EnableWebSecurity;
 import org.springframework.security.config.http.SessionCreationPolicy;
 import org.springframework.security.web.SecurityFilterChain;
 import org.springframework.security.web.authentication.UsernamePasswordAuthenticationFilter;
+import org.springframework.security.web.context.NullSecurityContextRepository;
+import org.springframework.security.web.servlet.util.matcher.PathPatternRequestMatcher;
+import org.springframework.security.web.util.matcher.OrRequestMatcher;
+import org.springframework.security.web.util.matcher.RequestMatcher;
 import org.springframework.web.cors.CorsConfiguration;
 import org.springframework.web.cors.CorsConfigurationSource;
 import org.springframework.web.cors.UrlBasedCorsConfigurationSource;
@@ -30,6 +37,9 @@ public class SecurityConfig {
     @Value("${app.cors.allowed-origins}")
     private String[] allowedOrigins;
 
+    @Value("${app.security.public-read-paths:/api/orgs/**,/api/clusters/**,/api/pubs/**}")
+    private String[] publicReadPaths;
+
     @Autowired
     public SecurityConfig(AuthenticationSuccessHandler authenticationSuccessHandler,
             JwtAuthenticationFilter jwtAuthenticationFilter, RedirectAuthenticatedUserFilter redirectAuthenticatedUserFilter) {
@@ -38,7 +48,29 @@ public class SecurityConfig {
         this.redirectAuthenticatedUserFilter = redirectAuthenticatedUserFilter;
     }
 
+    /**
+     * Anonymous fast path for the public catalog reads: GETs on
+     * {@code app.security.public-read-paths} never look at cookies, tokens,
+     * sessions or OAuth2, and are always permitted.
+     */
+    @Bean
+    @Order(1)
+    public SecurityFilterChain publicReadFilterChain(HttpSecurity http) throws Exception {
+        http
+                .securityMatcher(publicReadMatcher())
+                .cors(cors -> cors.configurationSource(corsConfigurationSource()))
+                .csrf(csrf -> csrf.disable())
+                .sessionManagement(session -> session.sessionCreationPolicy(SessionCreationPolicy.STATELESS))
+                .securityContext(context -> context.securityContextRepository(new NullSecurityContextRepository()))
+                .requestCache(cache -> cache.disable())
+                .logout(logout -> logout.disable())
+                .authorizeHttpRequests(req -> req.anyRequest().permitAll());
+
+        return http.build();
+    }
+
     @Bean
+    @Order(2)
     public SecurityFilterChain securityFilterChain(HttpSecurity http) throws Exception {
         http
                 .cors(cors -> cors.configurationSource(corsConfigurationSource()))
@@ -58,6 +90,34 @@ public class SecurityConfig {
         return http.build();
     }
 
+    // The JWT filters are beans, so Boot would also run them as plain servlet filters on every request,
+    // public reads included. They belong in the main security chain only.
+    @Bean
+    FilterRegistrationBean<JwtAuthenticationFilter> jwtAuthenticationFilterRegistration() {
+        FilterRegistrationBean<JwtAuthenticationFilter> registration =
+                new FilterRegistrationBean<>(jwtAuthenticationFilter);
+        registration.setEnabled(false);
+        return registration;
+    }
+
+    @Bean
+    FilterRegistrationBean<RedirectAuthenticatedUserFilter> redirectAuthenticatedUserFilterRegistration() {
+        FilterRegistrationBean<RedirectAuthenticatedUserFilter> registration =
+                new FilterRegistrationBean<>(redirectAuthenticatedUserFilter);
+        registration.setEnabled(false);
+        return registration;
+    }
+
+    private RequestMatcher publicReadMatcher() {
+        PathPatternRequestMatcher.Builder paths = PathPatternRequestMatcher.withDefaults();
+        List<RequestMatcher> matchers = Arrays.stream(publicReadPaths)
+                .map(String::trim)
+                .filter(path -> !path.isEmpty())
+                .<RequestMatcher>map(path -> paths.matcher(HttpMethod.GET, path))
+                .toList();
+        return new OrRequestMatcher(matchers);
+    }
+
     @Bean
     CorsConfigurationSource corsConfigurationSource() {
         CorsConfiguration configuration = new CorsConfiguration();
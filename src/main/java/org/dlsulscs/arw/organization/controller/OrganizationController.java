@@ -1,19 +1,32 @@
 package org.dlsulscs.arw.organization.controller;
 
+import com.fasterxml.jackson.databind.util.RawValue;
+import org.dlsulscs.arw.catalog.model.CatalogDocument;
+import org.dlsulscs.arw.common.dto.SliceResponseDto;
 import org.dlsulscs.arw.organization.dto.OrganizationCreateUpdateRequestDto;
 import org.dlsulscs.arw.organization.dto.OrganizationFeeGformsUpdateRequestDto;
 import org.dlsulscs.arw.organization.dto.OrganizationBulkUpdateDto;
+import org.dlsulscs.arw.organization.dto.OrganizationBulkUpdateResponseDto;
+import org.dlsulscs.arw.organization.dto.OrganizationFeedResponseDto;
+import org.dlsulscs.arw.organization.dto.SpreadsheetImportReportDto;
 import org.dlsulscs.arw.organization.model.Organization;
+import org.dlsulscs.arw.organization.service.OrganizationImportService;
 import org.dlsulscs.arw.organization.service.OrganizationService;
+import org.dlsulscs.arw.organization.service.SpreadsheetImportService;
+import jakarta.servlet.http.HttpServletResponse;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.data.domain.Page;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.multipart.MultipartFile;
 
 import org.dlsulscs.arw.organization.dto.OrganizationResponseDto;
-import org.dlsulscs.arw.cluster.dto.ClusterDto;
-import org.dlsulscs.arw.publication.dto.PublicationsDto;
+import org.dlsulscs.arw.organization.dto.OrganizationSuggestionDto;
 
+import java.io.IOException;
+import java.io.InputStream;
 import java.util.List;
 import java.util.stream.Collectors;
 
@@ -22,10 +35,15 @@ import java.util.stream.Collectors;
 public class OrganizationController {
 
     private final OrganizationService organizationService;
+    private final OrganizationImportService organizationImportService;
+    private final SpreadsheetImportService spreadsheetImportService;
 
     @Autowired
-    public OrganizationController(OrganizationService organizationService) {
+    public OrganizationController(OrganizationService organizationService,
+            OrganizationImportService organizationImportService, SpreadsheetImportService spreadsheetImportService) {
         this.organizationService = organizationService;
+        this.organizationImportService = organizationImportService;
+        this.spreadsheetImportService = spreadsheetImportService;
     }
 
     /**
@@ -37,18 +55,46 @@ public class OrganizationController {
      * cluster.
      *
      * @param cluster (optional) The name of the cluster to filter by.
-     * @return A list of organizations.
+     * @param slice   (optional) Return a count-free {@link SliceResponseDto}
+     *                instead of a full page.
+     * @return A page of organizations, each written from its pre-serialized
+     *         {@link OrganizationResponseDto} JSON.
      */
     @GetMapping
-    public ResponseEntity<Page<OrganizationResponseDto>> getOrganizations(
+    public ResponseEntity<?> getOrganizations(
             @RequestParam(required = false) String cluster,
             @RequestParam(defaultValue = "0") Integer page,
             @RequestParam(defaultValue = "10") Integer pageSize,
             @RequestParam(required = false) String seed,
-            @RequestParam(required = false) String prioritized) {
-        Page<Organization> orgs = organizationService.getOrganizations(cluster, page, pageSize, seed, prioritized);
-        Page<OrganizationResponseDto> orgsDto = orgs.map(this::mapToOrganizationResponseDto);
-        return ResponseEntity.ok(orgsDto);
+            @RequestParam(required = false) String prioritized,
+            @RequestParam(defaultValue = "false") boolean slice) {
+        if (slice) {
+            return ResponseEntity.ok(
+                    organizationService.getOrganizationSlice(cluster, page, pageSize, seed, prioritized));
+        }
+        Page<RawValue> orgs = organizationService.getOrganizations(cluster, page, pageSize, seed,
+                prioritized);
+        return ResponseEntity.ok(orgs);
+    }
+
+    /**
+     * Cursor-based org feed for "See More" / infinite scroll.
+     *
+     * - GET /api/orgs/feed?seed=abc&pageSize=10 -> first page.
+     * - GET /api/orgs/feed?cursor={next}&pageSize=10 -> following pages.
+     *
+     * @param cursor (optional) The {@code next} value of the previous page.
+     * @return A page of organizations and the cursor for the next one.
+     */
+    @GetMapping("/feed")
+    public ResponseEntity<OrganizationFeedResponseDto> getOrganizationFeed(
+            @RequestParam(required = false) String cluster,
+            @RequestParam(defaultValue = "10") Integer pageSize,
+            @RequestParam(required = false) String seed,
+            @RequestParam(required = false) String prioritized,
+            @RequestParam(required = false) String cursor) {
+        return ResponseEntity.ok(
+                organizationService.getOrganizationFeed(cluster, pageSize, seed, prioritized, cursor));
     }
 
     /**
@@ -57,21 +103,64 @@ public class OrganizationController {
      * - GET /api/orgs/search?q=someQuery
      *
      * @param query The search query.
+     * @param slice (optional) Return a count-free {@link SliceResponseDto}
+     *              instead of a full page.
      * @return A list of matching organizations.
      */
     @GetMapping("/search")
-    public ResponseEntity<Page<OrganizationResponseDto>> searchOrganizations(@RequestParam("q") String query,
+    public ResponseEntity<?> searchOrganizations(@RequestParam("q") String query,
             @RequestParam(defaultValue = "0") Integer page,
-            @RequestParam(defaultValue = "10") Integer pageSize) {
-        Page<Organization> orgs = organizationService.searchOrganizations(query, page, pageSize);
-        Page<OrganizationResponseDto> orgsDto = orgs.map(this::mapToOrganizationResponseDto);
-        return ResponseEntity.ok(orgsDto);
+            @RequestParam(defaultValue = "10") Integer pageSize,
+            @RequestParam(defaultValue = "false") boolean slice) {
+        if (slice) {
+            return ResponseEntity.ok(organizationService.searchOrganizationSlice(query, page, pageSize));
+        }
+        Page<OrganizationResponseDto> orgs = organizationService.searchOrganizations(query, page, pageSize);
+        return ResponseEntity.ok(orgs);
+    }
+
+    /**
+     * Typeahead suggestions for the search box.
+     *
+     * - GET /api/orgs/suggest?prefix=comp&limit=5
+     *
+     * @param prefix The text typed so far.
+     * @return Up to {@code limit} matching organizations, best matches first.
+     */
+    @GetMapping("/suggest")
+    public ResponseEntity<List<OrganizationSuggestionDto>> suggestOrganizations(@RequestParam String prefix,
+            @RequestParam(defaultValue = "10") Integer limit) {
+        return ResponseEntity.ok(organizationService.suggestOrganizations(prefix, limit));
+    }
+
+    /**
+     * The whole catalog in one response, for pages that need every
+     * organization.
+     *
+     * - GET /api/orgs/catalog
+     *
+     * @return Every organization with its cluster and publications, gzipped
+     *         when the client accepts it. The body is prebuilt per catalog
+     *         version, so serving it neither queries nor compresses.
+     *         {@code ETag} and {@code Cache-Control} come from the
+     *         catalog ETag interceptor.
+     */
+    @GetMapping("/catalog")
+    public ResponseEntity<byte[]> getCatalog(
+            @RequestHeader(value = HttpHeaders.ACCEPT_ENCODING, required = false) String acceptEncoding) {
+        CatalogDocument document = organizationService.getCatalogDocument();
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_JSON)
+                .varyBy(HttpHeaders.ACCEPT_ENCODING);
+        if (CatalogDocument.acceptsGzip(acceptEncoding)) {
+            return response.header(HttpHeaders.CONTENT_ENCODING, "gzip").body(document.gzip());
+        }
+        return response.body(document.json());
     }
 
     @GetMapping("/{id}")
-    public ResponseEntity<OrganizationResponseDto> getOrganizationById(@PathVariable Integer id) {
-        Organization org = this.organizationService.getOrganizationById(id);
-        return ResponseEntity.ok(mapToOrganizationResponseDto(org));
+    public ResponseEntity<RawValue> getOrganizationById(@PathVariable Integer id) {
+        return ResponseEntity.ok(organizationService.getOrganizationJsonById(id));
     }
 
     /**
@@ -82,9 +171,8 @@ public class OrganizationController {
      * @return The organization.
      */
     @GetMapping("/name/{name}")
-    public ResponseEntity<OrganizationResponseDto> getOrganizationByName(@PathVariable String name) {
-        Organization org = organizationService.getOrganizationByName(name);
-        return ResponseEntity.ok(mapToOrganizationResponseDto(org));
+    public ResponseEntity<RawValue> getOrganizationByName(@PathVariable String name) {
+        return ResponseEntity.ok(organizationService.getOrganizationJsonByName(name));
     }
 
     @PostMapping
@@ -104,6 +192,27 @@ public class OrganizationController {
         return ResponseEntity.status(201).body(responseDtos);
     }
 
+    /**
+     * Streaming upsert of organizations from NDJSON, one record per line,
+     * matched by short name. Records are committed in chunks and a result line
+     * is streamed back for every input line.
+     */
+    @PostMapping(value = "/import", consumes = MediaType.APPLICATION_NDJSON_VALUE,
+            produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public void importOrganizations(InputStream body, HttpServletResponse response) throws IOException {
+        response.setContentType(MediaType.APPLICATION_NDJSON_VALUE);
+        organizationImportService.importNdjson(body, response.getOutputStream());
+    }
+
+    /**
+     * Imports organizations and their publications from a CSV or XLSX
+     * spreadsheet, writing only the rows that differ from the current data.
+     */
+    @PostMapping(value = "/import/spreadsheet", consumes = MediaType.MULTIPART_FORM_DATA_VALUE)
+    public ResponseEntity<SpreadsheetImportReportDto> importSpreadsheet(@RequestParam("file") MultipartFile file) {
+        return ResponseEntity.ok(spreadsheetImportService.importSpreadsheet(file));
+    }
+
     @PatchMapping("/{id}")
     public ResponseEntity<OrganizationResponseDto> patchOrganization(@PathVariable Integer id,
             @RequestBody OrganizationCreateUpdateRequestDto partialUpdateDto) {
@@ -125,45 +234,12 @@ public class OrganizationController {
     }
 
     @PatchMapping("/bulk-update")
-    public ResponseEntity<List<OrganizationResponseDto>> bulkUpdateOrganizations(
+    public ResponseEntity<OrganizationBulkUpdateResponseDto> bulkUpdateOrganizations(
             @RequestBody List<OrganizationBulkUpdateDto> updateDtos) {
-        List<Organization> updatedOrgs = organizationService.bulkUpdateOrganizations(updateDtos);
-        List<OrganizationResponseDto> responseDtos = updatedOrgs.stream()
-                .map(this::mapToOrganizationResponseDto)
-                .collect(Collectors.toList());
-        return ResponseEntity.ok(responseDtos);
+        return ResponseEntity.ok(organizationService.bulkUpdateOrganizations(updateDtos));
     }
 
     private OrganizationResponseDto mapToOrganizationResponseDto(Organization org) {
-        ClusterDto clusterDto = null;
-        if (org.getCluster() != null) {
-            clusterDto = new ClusterDto(org.getCluster().getId(), org.getCluster().getName(),
-                    org.getCluster().getDescription());
-        }
-
-        PublicationsDto publicationsDto = null;
-        if (org.getPublications() != null) {
-            publicationsDto = new PublicationsDto(
-                    org.getPublications().getId(),
-                    org.getPublications().getMain_pub_url(),
-                    org.getPublications().getFee_pub_url(),
-                    org.getPublications().getLogo_url(),
-                    org.getPublications().getSub_logo_url(),
-                    org.getPublications().getOrg_vid_url());
-        }
-
-        return new OrganizationResponseDto(
-                org.getId(),
-                org.getName(),
-                org.getShortName(),
-                org.getAbout(),
-                org.getFee(),
-                org.getGformsUrl(),
-                org.getFacebookUrl(),
-                org.getMission(),
-                org.getVision(),
-                org.getTagline(),
-                clusterDto,
-                publicationsDto);
+        return OrganizationResponseDto.fromEntity(org);
     }
 }
@@ -0,0 +1,17 @@
+package org.dlsulscs.arw.organization.dto;
+
+import java.util.List;
+
+/**
+ * Result of a bulk fee/gforms update.
+ *
+ * @param updated           the organizations that were updated, with their new
+ *                          values
+ * @param unknownShortNames requested short names that matched no organization;
+ *                          these were skipped
+ */
+public record OrganizationBulkUpdateResponseDto(
+        List<OrganizationResponseDto> updated,
+        List<String> unknownShortNames
+) {
+}
@@ -0,0 +1,21 @@
+package org.dlsulscs.arw.organization.dto;
+
+import com.fasterxml.jackson.databind.util.RawValue;
+
+import java.util.List;
+
+/**
+ * One page of the cursor-based org feed.
+ *
+ * @param content the organizations of this page, already serialized as
+ *                {@link OrganizationResponseDto} JSON
+ * @param next    opaque cursor for the following page, or {@code null} on the last
+ *                page
+ * @param hasNext whether another page exists
+ */
+public record OrganizationFeedResponseDto(
+        List<RawValue> content,
+        String next,
+        boolean hasNext
+) {
+}
@@ -0,0 +1,13 @@
+package org.dlsulscs.arw.organization.dto;
+
+/**
+ * One parsed record of a streaming organization import.
+ *
+ * @param line         1-based line number in the uploaded NDJSON
+ * @param organization the record, upserted by its short name
+ */
+public record OrganizationImportLine(
+        int line,
+        OrganizationCreateUpdateRequestDto organization
+) {
+}
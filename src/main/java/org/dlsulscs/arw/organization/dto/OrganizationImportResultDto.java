@@ -0,0 +1,38 @@
+package org.dlsulscs.arw.organization.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.annotation.JsonValue;
+
+import java.util.Locale;
+
+/**
+ * Outcome of one line of a streaming organization import.
+ *
+ * @param line      1-based line number in the uploaded NDJSON
+ * @param status    what happened to the line
+ * @param id        the organization's id, unless the line failed
+ * @param shortName the short name from the line, when it could be read
+ * @param error     why the line failed, otherwise {@code null}
+ */
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public record OrganizationImportResultDto(
+        int line,
+        Status status,
+        Integer id,
+        String shortName,
+        String error
+) {
+
+    public enum Status {
+        CREATED, UPDATED, ERROR;
+
+        @JsonValue
+        public String toJson() {
+            return name().toLowerCase(Locale.ROOT);
+        }
+    }
+
+    public static OrganizationImportResultDto failed(int line, String shortName, String error) {
+        return new OrganizationImportResultDto(line, Status.ERROR, null, shortName, error);
+    }
+}
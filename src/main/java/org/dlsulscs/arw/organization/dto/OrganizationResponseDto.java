@@ -1,6 +1,7 @@
 package org.dlsulscs.arw.organization.dto;
 
 import org.dlsulscs.arw.cluster.dto.ClusterDto;
+import org.dlsulscs.arw.organization.model.Organization;
 import org.dlsulscs.arw.publication.dto.PublicationsDto;
 
 public record OrganizationResponseDto(
@@ -17,4 +18,20 @@ public record OrganizationResponseDto(
         ClusterDto cluster,
         PublicationsDto publications
 ) {
-}
\ No newline at end of file
+
+    public static OrganizationResponseDto fromEntity(Organization org) {
+        return new OrganizationResponseDto(
+                org.getId(),
+                org.getName(),
+                org.getShortName(),
+                org.getAbout(),
+                org.getFee(),
+                org.getGformsUrl(),
+                org.getFacebookUrl(),
+                org.getMission(),
+                org.getVision(),
+                org.getTagline(),
+                ClusterDto.fromEntity(org.getCluster()),
+                PublicationsDto.fromEntity(org.getPublications()));
+    }
+}
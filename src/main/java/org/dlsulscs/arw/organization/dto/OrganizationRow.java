@@ -0,0 +1,57 @@
+package org.dlsulscs.arw.organization.dto;
+
+import org.dlsulscs.arw.cluster.dto.ClusterDto;
+import org.dlsulscs.arw.publication.dto.PublicationsDto;
+
+/**
+ * Flat read-only projection of an organization joined with its cluster and
+ * publications, filled directly by a JPQL constructor expression.
+ *
+ * <p>
+ * Rows are not managed entities, so reading them skips the persistence
+ * context, dirty checking and the extra selects of eager associations.
+ * </p>
+ */
+public record OrganizationRow(
+        Integer id,
+        String name,
+        String shortName,
+        String about,
+        String fee,
+        String gformsUrl,
+        String facebookUrl,
+        String mission,
+        String vision,
+        String tagline,
+        Integer clusterId,
+        String clusterName,
+        String clusterDescription,
+        Integer publicationsId,
+        String mainPubUrl,
+        String feePubUrl,
+        String logoUrl,
+        String subLogoUrl,
+        String orgVidUrl
+) {
+
+    /**
+     * Select list matching the constructor, for queries over
+     * {@code Organization o LEFT JOIN o.cluster c LEFT JOIN o.publications p}.
+     */
+    public static final String SELECT = "SELECT new org.dlsulscs.arw.organization.dto.OrganizationRow(" +
+            "o.id, o.name, o.shortName, o.about, o.fee, o.gformsUrl, o.facebookUrl, o.mission, o.vision, o.tagline, " +
+            "c.id, c.name, c.description, " +
+            "p.id, p.main_pub_url, p.fee_pub_url, p.logo_url, p.sub_logo_url, p.org_vid_url) " +
+            "FROM Organization o LEFT JOIN o.cluster c LEFT JOIN o.publications p ";
+
+    public OrganizationResponseDto toResponseDto() {
+        ClusterDto cluster = clusterId != null
+                ? new ClusterDto(clusterId, clusterName, clusterDescription)
+                : null;
+        PublicationsDto publications = publicationsId != null
+                ? new PublicationsDto(publicationsId, mainPubUrl, feePubUrl, logoUrl, subLogoUrl, orgVidUrl)
+                : null;
+        return new OrganizationResponseDto(id, name, shortName, about, fee, gformsUrl, facebookUrl, mission, vision,
+                tagline, cluster, publications);
+    }
+}
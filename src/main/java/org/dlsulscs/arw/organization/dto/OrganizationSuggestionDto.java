@@ -0,0 +1,9 @@
+package org.dlsulscs.arw.organization.dto;
+
+public record OrganizationSuggestionDto(
+        Integer id,
+        String name,
+        String shortName,
+        String clusterName
+) {
+}
@@ -0,0 +1,38 @@
+package org.dlsulscs.arw.organization.dto;
+
+import java.util.List;
+
+/**
+ * Summary of a spreadsheet import.
+ *
+ * @param rows                  data rows read, not counting the header and
+ *                              blank rows
+ * @param created               organizations created
+ * @param updated               existing organizations whose fields changed
+ * @param unchanged             rows that matched the current data exactly and
+ *                              were not written
+ * @param publicationsWritten   organizations whose publications were inserted
+ *                              or changed
+ * @param skipped               rows that were not applied, with the reason
+ * @param elapsedMs             wall-clock time of the import
+ * @param rowsPerSecond         throughput over all data rows
+ */
+public record SpreadsheetImportReportDto(
+        int rows,
+        int created,
+        int updated,
+        int unchanged,
+        int publicationsWritten,
+        List<SkippedRow> skipped,
+        long elapsedMs,
+        long rowsPerSecond
+) {
+
+    /**
+     * @param row       1-based row number in the spreadsheet
+     * @param shortName the row's short name, when it has one
+     * @param reason    why the row was skipped
+     */
+    public record SkippedRow(int row, String shortName, String reason) {
+    }
+}
@@ -17,7 +17,8 @@ import lombok.NoArgsConstructor;
 public class Organization {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "orgs_id_seq")
+    @SequenceGenerator(name = "orgs_id_seq", sequenceName = "orgs_id_seq", allocationSize = 50)
     private Integer id;
 
     private String name;
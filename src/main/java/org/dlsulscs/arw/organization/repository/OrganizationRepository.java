@@ -1,19 +1,29 @@
 package org.dlsulscs.arw.organization.repository;
 
+import org.dlsulscs.arw.organization.dto.OrganizationRow;
 import org.dlsulscs.arw.organization.model.Organization;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
 @Repository
 public interface OrganizationRepository extends JpaRepository<Organization, Integer> {
 
+    // Shared by the ranked search and its count query.
+    String SEARCH_PREDICATE = "(o.search_vector @@ plainto_tsquery('simple', :query)" +
+            " OR lower(o.name) LIKE concat('%', lower(:query), '%')" +
+            " OR lower(o.short_name) LIKE concat('%', lower(:query), '%')" +
+            " OR o.cluster_id IN (SELECT c.id FROM clusters c WHERE lower(c.name) LIKE concat('%', lower(:query), '%')))";
+
     // Assume that names are UNIQUE
     @Query("SELECT o FROM Organization o WHERE lower(o.name) = lower(:name)")
     Optional<Organization> findByName(@Param("name") String name);
@@ -24,38 +34,87 @@ public interface OrganizationRepository extends JpaRepository<Organization, Inte
     @Query("SELECT o FROM Organization o WHERE lower(o.cluster.name) = lower(:clusterName)")
     Page<Organization> findOrganizationByClusterName(@Param("clusterName") String clusterName, Pageable pageable);
 
-    @Query("SELECT o FROM Organization o WHERE " +
-            "lower(o.name) LIKE lower(concat('%', :query, '%')) OR " +
-            "lower(o.shortName) LIKE lower(concat('%', :query, '%')) OR " +
-            "lower(o.cluster.name) LIKE lower(concat('%', :query, '%'))")
-    Page<Organization> search(@Param("query") String query, Pageable pageable);
+    /**
+     * Ranked search over name, short name, tagline, about and cluster name.
+     *
+     * <p>
+     * Matches are either full-text hits on {@code search_vector} or substring
+     * hits on the lowercased names; both are served by the GIN indexes from
+     * V5. Results are ordered by {@code ts_rank} plus the best trigram
+     * similarity of the name or short name, most relevant first.
+     * </p>
+     *
+     * <p>
+     * Only ids are returned; hydrate them with {@link #findRowsByIdIn} so the
+     * page costs a constant number of statements.
+     * </p>
+     */
+    @Query(value = "SELECT o.id FROM orgs o WHERE " + SEARCH_PREDICATE +
+            " ORDER BY ts_rank(o.search_vector, plainto_tsquery('simple', :query))" +
+            " + greatest(similarity(lower(o.name), lower(:query)), similarity(lower(coalesce(o.short_name, '')), lower(:query))) DESC," +
+            " o.id",
+        countQuery = "SELECT count(*) FROM orgs o WHERE " + SEARCH_PREDICATE,
+        nativeQuery = true)
+    Page<Integer> searchRankedIds(@Param("query") String query, Pageable pageable);
+
+    /**
+     * Same ranking as {@link #searchRankedIds}, but without the count query:
+     * one extra row is fetched to tell whether another page exists.
+     */
+    @Query(value = "SELECT o.id FROM orgs o WHERE " + SEARCH_PREDICATE +
+            " ORDER BY ts_rank(o.search_vector, plainto_tsquery('simple', :query))" +
+            " + greatest(similarity(lower(o.name), lower(:query)), similarity(lower(coalesce(o.short_name, '')), lower(:query))) DESC," +
+            " o.id",
+        nativeQuery = true)
+    Slice<Integer> searchRankedIdSlice(@Param("query") String query, Pageable pageable);
 
     Page<Organization> findAll(Pageable pageable);
 
     @Query("SELECT o FROM Organization o WHERE lower(o.cluster.name) = lower(:clusterName)")
     Page<Organization> findAllByClusterName(@Param("clusterName") String clusterName, Pageable pageable);
 
-    @Query(value = "SELECT * FROM orgs ORDER BY md5(id::text || :seed)",
-        countQuery = "SELECT count(*) FROM orgs",
-        nativeQuery = true)
-    Page<Organization> findAllWithSeed(Pageable pageable, @Param("seed") String seed);
+    /**
+     * Applies fee/gforms changes to many organizations in one statement. The
+     * three arrays are parallel: element {@code i} of each belongs to the same
+     * organization, matched by lowercased short name. A {@code null} value
+     * keeps the current one.
+     *
+     * @return the number of organizations updated
+     */
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query(value = "UPDATE orgs o SET fee = coalesce(v.fee, o.fee), gforms_url = coalesce(v.gforms_url, o.gforms_url)" +
+            " FROM unnest(CAST(:shortNames AS text[]), CAST(:fees AS text[]), CAST(:gformsUrls AS text[]))" +
+            " AS v(short_name, fee, gforms_url)" +
+            " WHERE lower(o.short_name) = v.short_name", nativeQuery = true)
+    int bulkUpdateFeeAndGformsUrl(@Param("shortNames") String[] shortNames, @Param("fees") String[] fees,
+            @Param("gformsUrls") String[] gformsUrls);
 
-    @Query(value = "SELECT o.* FROM orgs o JOIN clusters c ON o.cluster_id = c.id WHERE lower(c.name) = lower(:clusterName) ORDER BY md5(o.id::text || :seed)",
-        countQuery = "SELECT count(o.id) FROM orgs o JOIN clusters c ON o.cluster_id = c.id WHERE lower(c.name) = lower(:clusterName)",
-        nativeQuery = true)
-    Page<Organization> findAllByClusterNameWithSeed(@Param("clusterName") String clusterName, Pageable pageable, @Param("seed") String seed);
+    /**
+     * Case-insensitive batch lookup by short name, fetching cluster and
+     * publications in the same statement.
+     *
+     * @param shortNames lowercased short names
+     */
+    @Query("SELECT o FROM Organization o LEFT JOIN FETCH o.cluster LEFT JOIN FETCH o.publications " +
+            "WHERE lower(o.shortName) IN :shortNames")
+    List<Organization> findAllWithClusterAndPublicationsByShortNameIn(@Param("shortNames") Collection<String> shortNames);
 
-    @Query("SELECT o FROM Organization o WHERE o.shortName IN :shortNames")
-    List<Organization> findByShortNameIn(@Param("shortNames") List<String> shortNames);
+    // Read-only projections: rows are built straight from the result set, never managed.
 
-    @Query(value = "SELECT * FROM orgs ORDER BY CASE WHEN lower(short_name) IN (:prioritized) THEN 0 ELSE 1 END, md5(id::text || :seed)",
-        countQuery = "SELECT count(*) FROM orgs",
-        nativeQuery = true)
-    Page<Organization> findAllWithSeedAndPrioritized(Pageable pageable, @Param("seed") String seed, @Param("prioritized") List<String> prioritized);
+    /**
+     * Every organization with its cluster and publications, in one statement.
+     * Used to build the in-memory catalog snapshot.
+     */
+    @Query(OrganizationRow.SELECT + "ORDER BY o.id")
+    List<OrganizationRow> findAllRows();
 
-    @Query(value = "SELECT o.* FROM orgs o JOIN clusters c ON o.cluster_id = c.id WHERE lower(c.name) = lower(:clusterName) ORDER BY CASE WHEN lower(o.short_name) IN (:prioritized) THEN 0 ELSE 1 END, md5(o.id::text || :seed)",
-        countQuery = "SELECT count(o.id) FROM orgs o JOIN clusters c ON o.cluster_id = c.id WHERE lower(c.name) = lower(:clusterName)",
-        nativeQuery = true)
-    Page<Organization> findAllByClusterNameWithSeedAndPrioritized(@Param("clusterName") String clusterName, Pageable pageable, @Param("seed") String seed, @Param("prioritized") List<String> prioritized);
+    @Query(OrganizationRow.SELECT + "WHERE o.id IN :ids")
+    List<OrganizationRow> findRowsByIdIn(@Param("ids") Collection<Integer> ids);
+
+    @Query("SELECT o FROM Organization o LEFT JOIN FETCH o.cluster")
+    List<Organization> findAllWithCluster();
+
+    @Query("SELECT o FROM Organization o LEFT JOIN FETCH o.cluster WHERE o.id IN :ids")
+    List<Organization> findAllWithClusterByIdIn(@Param("ids") List<Integer> ids);
 
 }
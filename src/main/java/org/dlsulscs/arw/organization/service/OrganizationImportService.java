@@ -0,0 +1,237 @@
+package org.dlsulscs.arw.organization.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import org.dlsulscs.arw.organization.dto.OrganizationCreateUpdateRequestDto;
+import org.dlsulscs.arw.organization.dto.OrganizationImportLine;
+import org.dlsulscs.arw.organization.dto.OrganizationImportResultDto;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.DataAccessException;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Streams an NDJSON organization import: records are read one line at a time,
+ * upserted in fixed-size chunks that each commit on their own, and a result
+ * line is written back for every input line as soon as its chunk is done.
+ * Memory use depends on the chunk size and the line length limit, not on the
+ * size of the upload.
+ */
+@Service
+public class OrganizationImportService {
+    private static final Logger log = LoggerFactory.getLogger(OrganizationImportService.class);
+
+    static final int CHUNK_SIZE = 200;
+    // Far longer than any real record; guards against a body with no line breaks.
+    static final int MAX_LINE_LENGTH = 1 << 20;
+
+    private final OrganizationService organizationService;
+    private final ObjectMapper objectMapper;
+    private final ObjectReader recordReader;
+
+    @Autowired
+    public OrganizationImportService(OrganizationService organizationService, ObjectMapper objectMapper) {
+        this.organizationService = organizationService;
+        this.objectMapper = objectMapper;
+        this.recordReader = objectMapper.readerFor(OrganizationCreateUpdateRequestDto.class);
+    }
+
+    /**
+     * Imports every non-blank line of {@code in} and writes one NDJSON
+     * {@link OrganizationImportResultDto} per line to {@code out}, in input
+     * order. A line that fails (malformed JSON, unknown cluster, longer than
+     * {@value #MAX_LINE_LENGTH} characters, ...) only produces an error result;
+     * the import carries on with the next one.
+     */
+    public void importNdjson(InputStream in, OutputStream out) throws IOException {
+        long start = System.nanoTime();
+        int lineNumber = 0;
+        int records = 0;
+        int failed = 0;
+        BoundedLineReader reader = new BoundedLineReader(new InputStreamReader(in, StandardCharsets.UTF_8),
+                MAX_LINE_LENGTH);
+        // Parsed records wait here until CHUNK_SIZE lines are pending; pending
+        // lines keep results in input order when some fail to parse.
+        List<OrganizationImportLine> chunk = new ArrayList<>(CHUNK_SIZE);
+        List<OrganizationImportResultDto> pending = new ArrayList<>(CHUNK_SIZE);
+
+        String line;
+        while ((line = reader.readLine()) != null) {
+            lineNumber++;
+            if (reader.truncated()) {
+                records++;
+                pending.add(OrganizationImportResultDto.failed(lineNumber, null,
+                        "Line is longer than " + MAX_LINE_LENGTH + " characters"));
+            } else if (line.isBlank()) {
+                continue;
+            } else {
+                records++;
+                parse(lineNumber, line, chunk, pending);
+            }
+            // Counts failed lines too, so a run of bad lines is streamed back rather than buffered.
+            if (pending.size() == CHUNK_SIZE) {
+                failed += flush(chunk, pending, out);
+            }
+        }
+        failed += flush(chunk, pending, out);
+        int imported = records - failed;
+
+        long elapsedMs = Math.max(1, (System.nanoTime() - start) / 1_000_000);
+        log.info("Streamed import of {} organizations ({} failed lines) in {} ms ({} orgs/s)", imported, failed,
+                elapsedMs, imported * 1000L / elapsedMs);
+    }
+
+    /**
+     * Queues a parsed record in the chunk, or the error result of a line that
+     * is not one.
+     */
+    private void parse(int lineNumber, String line, List<OrganizationImportLine> chunk,
+            List<OrganizationImportResultDto> pending) {
+        try {
+            OrganizationCreateUpdateRequestDto record = recordReader.readValue(line);
+            if (record == null) {
+                pending.add(OrganizationImportResultDto.failed(lineNumber, null, "Expected a JSON object"));
+            } else {
+                chunk.add(new OrganizationImportLine(lineNumber, record));
+                pending.add(null);
+            }
+        } catch (JsonProcessingException e) {
+            pending.add(OrganizationImportResultDto.failed(lineNumber, null,
+                    "Malformed JSON: " + e.getOriginalMessage()));
+        }
+    }
+
+    /**
+     * Commits the chunk and writes the results of every pending line.
+     *
+     * @return the number of failed lines
+     */
+    private int flush(List<OrganizationImportLine> chunk, List<OrganizationImportResultDto> pending,
+            OutputStream out) throws IOException {
+        List<OrganizationImportResultDto> chunkResults = importChunk(chunk);
+        int failed = 0;
+        int next = 0;
+        for (OrganizationImportResultDto result : pending) {
+            OrganizationImportResultDto written = result != null ? result : chunkResults.get(next++);
+            if (written.status() == OrganizationImportResultDto.Status.ERROR) {
+                failed++;
+            }
+            out.write(objectMapper.writeValueAsBytes(written));
+            out.write('\n');
+        }
+        out.flush();
+        chunk.clear();
+        pending.clear();
+        return failed;
+    }
+
+    private List<OrganizationImportResultDto> importChunk(List<OrganizationImportLine> chunk) {
+        if (chunk.isEmpty()) {
+            return List.of();
+        }
+        try {
+            return organizationService.importChunk(chunk);
+        } catch (RuntimeException e) {
+            // The chunk's transaction was rolled back, so none of its lines were written.
+            log.warn("Import chunk starting at line {} failed", chunk.get(0).line(), e);
+            String cause = e instanceof DataAccessException dataAccess
+                    ? dataAccess.getMostSpecificCause().getMessage()
+                    : e.getMessage();
+            String error = "Chunk rolled back: " + cause;
+            return chunk.stream()
+                    .map(line -> OrganizationImportResultDto.failed(line.line(), line.organization().shortName(),
+                            error))
+                    .toList();
+        }
+    }
+
+    /**
+     * Reads {@code \n}-terminated lines (dropping a trailing {@code \r}) like
+     * {@link java.io.BufferedReader#readLine()}, but never holds more than
+     * {@code maxLength} characters of one: the rest of a longer line is
+     * skipped and the line is reported as {@linkplain #truncated() truncated}.
+     */
+    static final class BoundedLineReader {
+        private final Reader reader;
+        private final int maxLength;
+        private final char[] buffer = new char[8192];
+        private final StringBuilder line = new StringBuilder();
+        private int position;
+        private int limit;
+        private boolean truncated;
+
+        BoundedLineReader(Reader reader, int maxLength) {
+            this.reader = reader;
+            this.maxLength = maxLength;
+        }
+
+        /**
+         * @return the next line, or {@code null} at the end of the input
+         */
+        String readLine() throws IOException {
+            line.setLength(0);
+            truncated = false;
+            boolean read = false;
+            while (true) {
+                if (position == limit) {
+                    limit = reader.read(buffer);
+                    position = 0;
+                    if (limit <= 0) {
+                        limit = 0;
+                        return read ? finish() : null;
+                    }
+                }
+                read = true;
+                int start = position;
+                while (position < limit && buffer[position] != '\n') {
+                    position++;
+                }
+                append(start, position);
+                if (position < limit) {
+                    position++;
+                    return finish();
+                }
+            }
+        }
+
+        /**
+         * Whether the line last returned was longer than the limit; its text
+         * is then incomplete.
+         */
+        boolean truncated() {
+            return truncated;
+        }
+
+        private void append(int start, int end) {
+            int room = maxLength + 1 - line.length();
+            int count = end - start;
+            if (count > room) {
+                truncated = true;
+                count = Math.max(room, 0);
+            }
+            line.append(buffer, start, count);
+        }
+
+        private String finish() {
+            int length = line.length();
+            if (length > 0 && line.charAt(length - 1) == '\r') {
+                line.setLength(--length);
+            }
+            if (length > maxLength) {
+                truncated = true;
+            }
+            return truncated ? "" : line.toString();
+        }
+    }
+}
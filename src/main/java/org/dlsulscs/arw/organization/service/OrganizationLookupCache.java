@@ -0,0 +1,190 @@
+package org.dlsulscs.arw.organization.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.dlsulscs.arw.catalog.event.CatalogChangedEvent;
+import org.dlsulscs.arw.cluster.model.Cluster;
+import org.dlsulscs.arw.organization.model.Organization;
+import org.dlsulscs.arw.organization.repository.OrganizationRepository;
+import org.dlsulscs.arw.publication.model.Publications;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.util.Locale;
+import java.util.Optional;
+import java.util.function.Supplier;
+
+/**
+ * Bounded read-through cache for single-organization lookups by id, name and
+ * short name.
+ *
+ * <p>
+ * Organizations are cached once, by id, as detached snapshots; names and short
+ * names only map to an id, and a name hit is checked against the cached
+ * organization so a stale mapping reads as a miss. Hits and misses alike
+ * return a fresh detached copy that callers may modify or save, so writes
+ * only reach the database through an explicit save. Loads done inside a transaction are only
+ * cached after it commits, and a load that overlaps an invalidation is
+ * dropped, so rolled-back or superseded rows never get in.
+ * </p>
+ *
+ * <p>
+ * Entries are evicted by every {@link CatalogChangedEvent} that names them;
+ * cluster changes and "everything changed" events clear the cache. Hit and
+ * miss counts are published as {@code cache.gets} metrics.
+ * </p>
+ */
+@Service
+public class OrganizationLookupCache {
+
+    private final OrganizationRepository organizationRepository;
+    private final Cache<Integer, Organization> byId;
+    private final Cache<LookupKey, Integer> idsByKey;
+    private final Object lock = new Object();
+    // Bumped by every invalidation; a load only populates the cache if it saw the current value.
+    private long generation;
+
+    @Autowired
+    public OrganizationLookupCache(OrganizationRepository organizationRepository, MeterRegistry meterRegistry,
+            @Value("${app.org-cache.maximum-size:1000}") long maximumSize,
+            @Value("${app.org-cache.ttl:10m}") Duration ttl) {
+        this.organizationRepository = organizationRepository;
+        this.byId = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfterWrite(ttl)
+                .recordStats()
+                .build();
+        // Two keys per organization.
+        this.idsByKey = Caffeine.newBuilder()
+                .maximumSize(maximumSize * 2)
+                .expireAfterWrite(ttl)
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, byId, "orgs.by-id");
+        CaffeineCacheMetrics.monitor(meterRegistry, idsByKey, "orgs.by-name");
+    }
+
+    public Optional<Organization> findById(Integer id) {
+        Organization cached = byId.getIfPresent(id);
+        if (cached != null) {
+            return Optional.of(copyOf(cached));
+        }
+        return load(() -> organizationRepository.findById(id));
+    }
+
+    public Optional<Organization> findByName(String name) {
+        return findByKey(LookupKey.name(name), () -> organizationRepository.findByName(name));
+    }
+
+    public Optional<Organization> findByShortName(String shortName) {
+        return findByKey(LookupKey.shortName(shortName), () -> organizationRepository.findByShortName(shortName));
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onCatalogChanged(CatalogChangedEvent event) {
+        synchronized (lock) {
+            generation++;
+            if (event.kind() == CatalogChangedEvent.Kind.CLUSTER || event.ids().isEmpty()) {
+                // Every cached organization embeds its cluster.
+                byId.invalidateAll();
+                idsByKey.invalidateAll();
+                return;
+            }
+            for (Integer id : event.ids()) {
+                Organization cached = byId.getIfPresent(id);
+                if (cached != null) {
+                    idsByKey.invalidate(LookupKey.name(cached.getName()));
+                    idsByKey.invalidate(LookupKey.shortName(cached.getShortName()));
+                }
+                byId.invalidate(id);
+            }
+        }
+    }
+
+    private Optional<Organization> findByKey(LookupKey key, Supplier<Optional<Organization>> loader) {
+        Integer id = idsByKey.getIfPresent(key);
+        if (id != null) {
+            Organization cached = byId.getIfPresent(id);
+            if (cached != null && key.matches(cached)) {
+                return Optional.of(copyOf(cached));
+            }
+        }
+        return load(loader);
+    }
+
+    private Optional<Organization> load(Supplier<Optional<Organization>> loader) {
+        long seen;
+        synchronized (lock) {
+            seen = generation;
+        }
+        Optional<Organization> loaded = loader.get();
+        loaded.ifPresent(org -> populate(copyOf(org), seen));
+        return loaded.map(OrganizationLookupCache::copyOf);
+    }
+
+    private void populate(Organization snapshot, long seen) {
+        Runnable put = () -> {
+            synchronized (lock) {
+                if (generation != seen) {
+                    return;
+                }
+                byId.put(snapshot.getId(), snapshot);
+                idsByKey.put(LookupKey.name(snapshot.getName()), snapshot.getId());
+                idsByKey.put(LookupKey.shortName(snapshot.getShortName()), snapshot.getId());
+            }
+        };
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    put.run();
+                }
+            });
+        } else {
+            put.run();
+        }
+    }
+
+    /**
+     * A detached copy of {@code org} with its own cluster and publications, so
+     * that neither the cache nor its callers share mutable state.
+     */
+    private static Organization copyOf(Organization org) {
+        Organization copy = new Organization(org.getId(), org.getName(), org.getShortName(), org.getAbout(),
+                org.getFee(), org.getGformsUrl(), org.getFacebookUrl(), org.getMission(), org.getVision(),
+                org.getTagline(), null, null);
+        Cluster cluster = org.getCluster();
+        if (cluster != null) {
+            copy.setCluster(new Cluster(cluster.getId(), cluster.getName(), cluster.getDescription()));
+        }
+        Publications pubs = org.getPublications();
+        if (pubs != null) {
+            copy.setPublications(new Publications(pubs.getId(), pubs.getMain_pub_url(), pubs.getFee_pub_url(),
+                    pubs.getLogo_url(), pubs.getSub_logo_url(), pubs.getOrg_vid_url(), copy));
+        }
+        return copy;
+    }
+
+    private record LookupKey(boolean shortName, String value) {
+
+        static LookupKey name(String name) {
+            return new LookupKey(false, name == null ? null : name.toLowerCase(Locale.ROOT));
+        }
+
+        static LookupKey shortName(String shortName) {
+            return new LookupKey(true, shortName == null ? null : shortName.toLowerCase(Locale.ROOT));
+        }
+
+        boolean matches(Organization org) {
+            String actual = shortName ? org.getShortName() : org.getName();
+            return value != null && actual != null && value.equals(actual.toLowerCase(Locale.ROOT));
+        }
+    }
+}
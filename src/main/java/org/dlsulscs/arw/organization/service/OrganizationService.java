@@ -1,34 +1,80 @@
 package org.dlsulscs.arw.organization.service;
 
+import com.fasterxml.jackson.databind.util.RawValue;
+import org.dlsulscs.arw.catalog.event.CatalogChangedEvent;
+import org.dlsulscs.arw.catalog.model.CatalogDocument;
+import org.dlsulscs.arw.catalog.model.CatalogEntry;
+import org.dlsulscs.arw.catalog.model.CatalogPosition;
+import org.dlsulscs.arw.catalog.model.FeedCursor;
+import org.dlsulscs.arw.catalog.model.RankedEntry;
+import org.dlsulscs.arw.catalog.service.OrganizationCatalog;
 import org.dlsulscs.arw.cluster.model.Cluster;
 import org.dlsulscs.arw.cluster.service.ClusterService;
+import org.dlsulscs.arw.common.dto.SliceResponseDto;
+import org.dlsulscs.arw.common.exception.BadRequestException;
 import org.dlsulscs.arw.common.exception.ResourceNotFoundException;
 import org.dlsulscs.arw.organization.dto.OrganizationCreateUpdateRequestDto;
 import org.dlsulscs.arw.organization.dto.OrganizationFeeGformsUpdateRequestDto;
 import org.dlsulscs.arw.organization.dto.OrganizationBulkUpdateDto;
+import org.dlsulscs.arw.organization.dto.OrganizationBulkUpdateResponseDto;
+import org.dlsulscs.arw.organization.dto.OrganizationFeedResponseDto;
+import org.dlsulscs.arw.organization.dto.OrganizationImportLine;
+import org.dlsulscs.arw.organization.dto.OrganizationImportResultDto;
+import org.dlsulscs.arw.organization.dto.OrganizationResponseDto;
+import org.dlsulscs.arw.organization.dto.OrganizationRow;
+import org.dlsulscs.arw.organization.dto.OrganizationSuggestionDto;
 import org.dlsulscs.arw.organization.model.Organization;
 import org.dlsulscs.arw.organization.repository.OrganizationRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
 import java.util.UUID;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
 @Service
 public class OrganizationService {
+    private static final Logger log = LoggerFactory.getLogger(OrganizationService.class);
+    private static final int MAX_SUGGESTIONS = 50;
+    private static final int MAX_PAGE_SIZE = 100;
 
     private final OrganizationRepository organizationRepository;
     private final ClusterService clusterService;
+    private final OrganizationCatalog organizationCatalog;
+    private final OrganizationSuggestIndex organizationSuggestIndex;
+    private final OrganizationLookupCache organizationLookupCache;
+    private final ApplicationEventPublisher eventPublisher;
 
     @Autowired
-    public OrganizationService(OrganizationRepository organizationRepository, ClusterService clusterService) {
+    public OrganizationService(OrganizationRepository organizationRepository, ClusterService clusterService,
+            OrganizationCatalog organizationCatalog, OrganizationSuggestIndex organizationSuggestIndex,
+            OrganizationLookupCache organizationLookupCache, ApplicationEventPublisher eventPublisher) {
         this.organizationRepository = organizationRepository;
         this.clusterService = clusterService;
+        this.organizationCatalog = organizationCatalog;
+        this.organizationSuggestIndex = organizationSuggestIndex;
+        this.organizationLookupCache = organizationLookupCache;
+        this.eventPublisher = eventPublisher;
     }
 
     /**
@@ -63,67 +109,255 @@ public class OrganizationService {
      * @return a page of organizations, filtered and randomly ordered by the
      *         provided seed
      */
-    public Page<Organization> getOrganizations(String clusterName, Integer page, Integer pageSize, String seed,
-            String prioritized) {
+    public Page<RawValue> getOrganizations(String clusterName, Integer page, Integer pageSize,
+            String seed, String prioritized) {
         String effectiveSeed = (seed != null && !seed.isEmpty()) ? seed : UUID.randomUUID().toString();
         Pageable pageable = PageRequest.of(page, pageSize);
 
-        List<String> prioritizedList = null;
-        if (prioritized != null && !prioritized.isEmpty()) {
-            prioritizedList = java.util.Arrays.stream(prioritized.split(","))
-                    .map(String::trim)
-                    .map(String::toLowerCase)
-                    .collect(Collectors.toList());
+        Set<String> prioritizedSet = parsePrioritized(prioritized);
+        boolean hasCluster = clusterName != null && !clusterName.isEmpty();
+
+        // Served entirely from the in-memory catalog snapshot; the order matches
+        // the md5(id::text || seed) shuffle the database used to compute.
+        List<CatalogEntry> ordered = organizationCatalog.shuffled(hasCluster ? clusterName : null, effectiveSeed,
+                prioritizedSet);
+        List<RawValue> content = ordered.stream()
+                .skip(pageable.getOffset())
+                .limit(pageable.getPageSize())
+                .map(CatalogEntry::json)
+                .toList();
+        return new PageImpl<>(content, pageable, ordered.size());
+    }
+
+    /**
+     * Count-free variant of {@link #getOrganizations} for "See More"
+     * pagination. Only the first {@code (page + 1) * pageSize + 1}
+     * organizations of the shuffle are kept and sorted, and the envelope
+     * carries {@code hasNext} instead of totals.
+     */
+    public SliceResponseDto<RawValue> getOrganizationSlice(String clusterName, Integer page, Integer pageSize,
+            String seed, String prioritized) {
+        requirePage(page);
+        requirePageSize(pageSize);
+        // Past the end of the catalog there is nothing to rank.
+        long requestedOffset = (long) page * pageSize;
+        if (requestedOffset >= organizationCatalog.snapshot().entries().size()) {
+            return new SliceResponseDto<>(List.of(), page, pageSize, false);
         }
+        int offset = (int) requestedOffset;
 
-        boolean hasPrioritized = prioritizedList != null && !prioritizedList.isEmpty();
+        String effectiveSeed = (seed != null && !seed.isEmpty()) ? seed : UUID.randomUUID().toString();
         boolean hasCluster = clusterName != null && !clusterName.isEmpty();
+        List<RankedEntry> window = organizationCatalog.seek(hasCluster ? clusterName : null, effectiveSeed,
+                parsePrioritized(prioritized), null, offset + pageSize + 1);
+        List<RawValue> content = window.stream()
+                .skip(offset)
+                .limit(pageSize)
+                .map(ranked -> ranked.entry().json())
+                .toList();
+        return new SliceResponseDto<>(content, page, pageSize, window.size() > offset + pageSize);
+    }
+
+    /**
+     * Cursor-based variant of {@link #getOrganizations} for infinite scroll.
+     *
+     * <p>
+     * The first request passes {@code seed} (and optionally {@code cluster}
+     * and {@code prioritized}); every following request passes only the
+     * {@code next} cursor from the previous response, which carries the seed,
+     * the cluster, the prioritized short names and the last
+     * {@code (priority, md5 hash, id)} tuple returned. The page is found by
+     * seeking past that tuple rather than by offset, so every page costs the
+     * same.
+     * </p>
+     *
+     * @param cursor the {@code next} value of the previous page, or {@code null}
+     *               for the first page
+     */
+    public OrganizationFeedResponseDto getOrganizationFeed(String clusterName, Integer pageSize, String seed,
+            String prioritized, String cursor) {
+        requirePageSize(pageSize);
 
-        if (hasCluster && hasPrioritized) {
-            return organizationRepository.findAllByClusterNameWithSeedAndPrioritized(clusterName, pageable,
-                    effectiveSeed, prioritizedList);
-        } else if (hasCluster) {
-            return organizationRepository.findAllByClusterNameWithSeed(clusterName, pageable, effectiveSeed);
-        } else if (hasPrioritized) {
-            return organizationRepository.findAllWithSeedAndPrioritized(pageable, effectiveSeed, prioritizedList);
+        FeedCursor previous = (cursor != null && !cursor.isEmpty()) ? FeedCursor.decode(cursor) : null;
+        String effectiveSeed;
+        String effectiveCluster;
+        Set<String> effectivePrioritized;
+        if (previous != null) {
+            effectiveSeed = previous.seed();
+            effectiveCluster = previous.cluster();
+            // Cursors issued before the prioritized names were recorded still rely on the request.
+            effectivePrioritized = previous.prioritized() != null ? previous.prioritized()
+                    : parsePrioritized(prioritized);
         } else {
-            return organizationRepository.findAllWithSeed(pageable, effectiveSeed);
+            effectiveSeed = (seed != null && !seed.isEmpty()) ? seed : UUID.randomUUID().toString();
+            effectiveCluster = (clusterName != null && !clusterName.isEmpty()) ? clusterName : null;
+            effectivePrioritized = parsePrioritized(prioritized);
+        }
+
+        List<RankedEntry> window = organizationCatalog.seek(effectiveCluster, effectiveSeed,
+                effectivePrioritized, previous != null ? previous.after() : null, pageSize + 1);
+        boolean hasNext = window.size() > pageSize;
+        List<RankedEntry> pageEntries = hasNext ? window.subList(0, pageSize) : window;
+
+        String next = null;
+        if (hasNext) {
+            CatalogPosition last = pageEntries.get(pageEntries.size() - 1).position();
+            next = new FeedCursor(effectiveSeed, effectiveCluster, effectivePrioritized, last).encode();
         }
+        List<RawValue> content = pageEntries.stream()
+                .map(ranked -> ranked.entry().json())
+                .toList();
+        return new OrganizationFeedResponseDto(content, next, hasNext);
+    }
+
+    private static void requirePage(Integer page) {
+        if (page == null || page < 0) {
+            throw new BadRequestException("page must be at least 0");
+        }
+    }
+
+    // Page sizes come straight from anonymous requests and size in-memory buffers.
+    private static void requirePageSize(Integer pageSize) {
+        if (pageSize == null || pageSize < 1 || pageSize > MAX_PAGE_SIZE) {
+            throw new BadRequestException("pageSize must be between 1 and " + MAX_PAGE_SIZE);
+        }
+    }
+
+    private Set<String> parsePrioritized(String prioritized) {
+        if (prioritized == null || prioritized.isEmpty()) {
+            return Set.of();
+        }
+        return Arrays.stream(prioritized.split(","))
+                .map(String::trim)
+                .map(shortName -> shortName.toLowerCase(Locale.ROOT))
+                .collect(Collectors.toUnmodifiableSet());
+    }
+
+    /**
+     * Typeahead suggestions for the search box, answered from
+     * {@link OrganizationSuggestIndex} without a database round trip.
+     */
+    public List<OrganizationSuggestionDto> suggestOrganizations(String prefix, Integer limit) {
+        int effectiveLimit = Math.min(limit, MAX_SUGGESTIONS);
+        return organizationSuggestIndex.suggest(prefix, effectiveLimit);
+    }
+
+    /**
+     * Every organization with its cluster and publications in one document,
+     * encoded and compressed once per catalog version.
+     */
+    public CatalogDocument getCatalogDocument() {
+        return organizationCatalog.document();
     }
 
-    public Page<Organization> searchOrganizations(String query, Integer page, Integer pageSize) {
+    /**
+     * Count-free variant of {@link #searchOrganizations} for "See More"
+     * pagination: one extra id is fetched instead of counting all matches.
+     */
+    public SliceResponseDto<OrganizationResponseDto> searchOrganizationSlice(String query, Integer page,
+            Integer pageSize) {
+        requirePage(page);
+        requirePageSize(pageSize);
         Pageable pageable = PageRequest.of(page, pageSize);
-        return organizationRepository.search(query, pageable);
+        Slice<Integer> ids = organizationRepository.searchRankedIdSlice(query, pageable);
+        return SliceResponseDto.of(new SliceImpl<>(findResponsesByIdsInOrder(ids.getContent()), pageable,
+                ids.hasNext()));
+    }
+
+    /**
+     * Searches organizations by name, short name, tagline, about text and
+     * cluster name, most relevant first.
+     */
+    public Page<OrganizationResponseDto> searchOrganizations(String query, Integer page, Integer pageSize) {
+        requirePage(page);
+        requirePageSize(pageSize);
+        Pageable pageable = PageRequest.of(page, pageSize);
+        Page<Integer> ids = organizationRepository.searchRankedIds(query, pageable);
+        return new PageImpl<>(findResponsesByIdsInOrder(ids.getContent()), pageable, ids.getTotalElements());
+    }
+
+    // One projection query for the whole page, returned in the order of ids.
+    private List<OrganizationResponseDto> findResponsesByIdsInOrder(List<Integer> ids) {
+        if (ids.isEmpty()) {
+            return List.of();
+        }
+        Map<Integer, OrganizationRow> byId = organizationRepository.findRowsByIdIn(ids).stream()
+                .collect(Collectors.toMap(OrganizationRow::id, Function.identity()));
+        return ids.stream()
+                .map(byId::get)
+                .filter(Objects::nonNull)
+                .map(OrganizationRow::toResponseDto)
+                .toList();
     }
 
+    /**
+     * Read-only variant of {@link #getOrganizationById} for the detail
+     * endpoint: the organization's pre-serialized JSON from the catalog
+     * snapshot.
+     */
+    public RawValue getOrganizationJsonById(Integer id) {
+        return organizationCatalog.findById(id)
+                .map(CatalogEntry::json)
+                .orElseThrow(() -> new ResourceNotFoundException("Organization not found with id: " + id));
+    }
+
+    /**
+     * Read-only variant of {@link #getOrganizationByName} for the detail
+     * endpoint: the organization's pre-serialized JSON from the catalog
+     * snapshot.
+     */
+    public RawValue getOrganizationJsonByName(String name) {
+        return organizationCatalog.findByName(name)
+                .map(CatalogEntry::json)
+                .orElseThrow(() -> new ResourceNotFoundException("Organization not found with name: " + name));
+    }
+
+    // The three lookups below are served by OrganizationLookupCache and always return a detached copy.
     public Organization getOrganizationById(Integer id) {
-        return this.organizationRepository.findById(id)
+        return this.organizationLookupCache.findById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("Organization not found with id: " + id));
     }
 
     public Organization getOrganizationByName(String name) {
-        return this.organizationRepository.findByName(name)
+        return this.organizationLookupCache.findByName(name)
                 .orElseThrow(() -> new ResourceNotFoundException("Organization not found with name: " + name));
     }
 
     public Organization getOrganizationByShortName(String shortName) {
-        return this.organizationRepository.findByShortName(shortName)
+        return this.organizationLookupCache.findByShortName(shortName)
                 .orElseThrow(() -> new ResourceNotFoundException("Organization not found with short name: " + shortName));
     }
 
     public Organization createOrganization(OrganizationCreateUpdateRequestDto orgDto) {
         Organization newOrg = createOrganizationFromDto(orgDto);
-        return organizationRepository.save(newOrg);
+        Organization savedOrg = organizationRepository.save(newOrg);
+        publishChange(savedOrg.getId());
+        return savedOrg;
     }
 
+    /**
+     * Creates all organizations in one transaction. Ids come from a pooled
+     * sequence, so the inserts go out as JDBC batches on the flush.
+     */
+    @Transactional
     public List<Organization> createOrganizations(List<OrganizationCreateUpdateRequestDto> orgDtos) {
-        List<Organization> newOrgs = orgDtos.stream().map(this::createOrganizationFromDto).collect(Collectors.toList());
-        return organizationRepository.saveAll(newOrgs);
+        long start = System.nanoTime();
+        Map<String, Cluster> clusters = clusterService.getClustersByNames(
+                orgDtos.stream().map(OrganizationCreateUpdateRequestDto::clusterName).toList());
+        List<Organization> newOrgs = orgDtos.stream()
+                .map(dto -> createOrganizationFromDto(dto, clusters.get(dto.clusterName().toLowerCase(Locale.ROOT))))
+                .collect(Collectors.toList());
+        List<Organization> savedOrgs = organizationRepository.saveAllAndFlush(newOrgs);
+        logThroughput("Bulk-created", savedOrgs.size(), start);
+        publishChange(savedOrgs);
+        return savedOrgs;
     }
 
     private Organization createOrganizationFromDto(OrganizationCreateUpdateRequestDto orgDto) {
-        Cluster cluster = clusterService.getClusterByName(orgDto.clusterName());
+        return createOrganizationFromDto(orgDto, clusterService.getClusterByName(orgDto.clusterName()));
+    }
 
+    private Organization createOrganizationFromDto(OrganizationCreateUpdateRequestDto orgDto, Cluster cluster) {
         Organization newOrg = new Organization();
         newOrg.setName(orgDto.name());
         newOrg.setShortName(orgDto.shortName());
@@ -141,74 +375,256 @@ public class OrganizationService {
 
     public Organization patchOrganization(Integer id, OrganizationCreateUpdateRequestDto partialUpdate) {
         Organization existingOrg = getOrganizationById(id);
+        applyPartialUpdate(existingOrg, partialUpdate);
+        if (partialUpdate.clusterName() != null) {
+            Cluster cluster = clusterService.getClusterByName(partialUpdate.clusterName());
+            existingOrg.setCluster(cluster);
+        }
+
+        Organization savedOrg = organizationRepository.save(existingOrg);
+        publishChange(savedOrg.getId());
+        return savedOrg;
+    }
+
+    public void deleteOrganization(Integer id) {
+        Organization org = getOrganizationById(id);
+        organizationRepository.delete(org);
+        publishChange(id);
+    }
 
+    public Organization patchOrganizationByShortName(String shortName, OrganizationFeeGformsUpdateRequestDto partialUpdate) {
+        Organization existingOrg = getOrganizationByShortName(shortName);
+
+        if (partialUpdate.fee() != null) {
+            existingOrg.setFee(partialUpdate.fee());
+        }
+        if (partialUpdate.gformsUrl() != null) {
+            existingOrg.setGformsUrl(partialUpdate.gformsUrl());
+        }
+
+        Organization savedOrg = organizationRepository.save(existingOrg);
+        publishChange(savedOrg.getId());
+        return savedOrg;
+    }
+
+    /**
+     * Copies every non-null field of {@code partialUpdate} except the cluster
+     * onto {@code org}.
+     */
+    private static void applyPartialUpdate(Organization org, OrganizationCreateUpdateRequestDto partialUpdate) {
         if (partialUpdate.name() != null) {
-            existingOrg.setName(partialUpdate.name());
+            org.setName(partialUpdate.name());
         }
         if (partialUpdate.shortName() != null) {
-            existingOrg.setShortName(partialUpdate.shortName());
+            org.setShortName(partialUpdate.shortName());
         }
         if (partialUpdate.about() != null) {
-            existingOrg.setAbout(partialUpdate.about());
+            org.setAbout(partialUpdate.about());
         }
         if (partialUpdate.fee() != null) {
-            existingOrg.setFee(partialUpdate.fee());
+            org.setFee(partialUpdate.fee());
         }
         if (partialUpdate.gformsUrl() != null) {
-            existingOrg.setGformsUrl(partialUpdate.gformsUrl());
+            org.setGformsUrl(partialUpdate.gformsUrl());
         }
         if (partialUpdate.facebookUrl() != null) {
-            existingOrg.setFacebookUrl(partialUpdate.facebookUrl());
+            org.setFacebookUrl(partialUpdate.facebookUrl());
         }
         if (partialUpdate.mission() != null) {
-            existingOrg.setMission(partialUpdate.mission());
+            org.setMission(partialUpdate.mission());
         }
         if (partialUpdate.vision() != null) {
-            existingOrg.setVision(partialUpdate.vision());
+            org.setVision(partialUpdate.vision());
         }
         if (partialUpdate.tagline() != null) {
-            existingOrg.setTagline(partialUpdate.tagline());
+            org.setTagline(partialUpdate.tagline());
         }
-        if (partialUpdate.clusterName() != null) {
-            Cluster cluster = clusterService.getClusterByName(partialUpdate.clusterName());
-            existingOrg.setCluster(cluster);
+    }
+
+    /**
+     * Upserts one chunk of a streaming import in its own transaction.
+     * Organizations are matched by short name (case-insensitive): a match is
+     * patched like {@link #patchOrganization}, anything else is created.
+     * Clusters and existing organizations are resolved with one query each.
+     * A line that cannot be applied gets an error result and the rest of the
+     * chunk is still written.
+     *
+     * @return one result per line, in the same order
+     */
+    @Transactional
+    public List<OrganizationImportResultDto> importChunk(List<OrganizationImportLine> lines) {
+        Map<String, Cluster> clusters = clusterService.findClustersByNames(
+                lines.stream().map(line -> line.organization().clusterName()).toList());
+        Map<String, Organization> orgsByShortName = new HashMap<>(getOrganizationsByShortNames(
+                lines.stream().map(line -> line.organization().shortName()).toList()));
+
+        List<PendingImport> applied = new ArrayList<>(lines.size());
+        List<Organization> newOrgs = new ArrayList<>();
+        for (OrganizationImportLine line : lines) {
+            OrganizationCreateUpdateRequestDto dto = line.organization();
+            if (dto.shortName() == null || dto.shortName().isBlank()) {
+                applied.add(PendingImport.failed(line.line(), null, "short_name is required"));
+                continue;
+            }
+            Cluster cluster = dto.clusterName() != null
+                    ? clusters.get(dto.clusterName().toLowerCase(Locale.ROOT))
+                    : null;
+            if (dto.clusterName() != null && cluster == null) {
+                applied.add(PendingImport.failed(line.line(), dto.shortName(),
+                        "Cluster not found with name: " + dto.clusterName()));
+                continue;
+            }
+
+            String key = dto.shortName().toLowerCase(Locale.ROOT);
+            Organization org = orgsByShortName.get(key);
+            if (org == null) {
+                if (dto.name() == null || cluster == null) {
+                    applied.add(PendingImport.failed(line.line(), dto.shortName(),
+                            "name and cluster_name are required for a new organization"));
+                    continue;
+                }
+                org = createOrganizationFromDto(dto, cluster);
+                orgsByShortName.put(key, org);
+                newOrgs.add(org);
+                applied.add(new PendingImport(line.line(), org, OrganizationImportResultDto.Status.CREATED, null, null));
+            } else {
+                applyPartialUpdate(org, dto);
+                if (cluster != null) {
+                    org.setCluster(cluster);
+                }
+                applied.add(new PendingImport(line.line(), org, OrganizationImportResultDto.Status.UPDATED, null, null));
+            }
         }
 
-        return organizationRepository.save(existingOrg);
+        // Flushes the batched inserts together with the dirty updates.
+        organizationRepository.saveAllAndFlush(newOrgs);
+        List<Organization> touched = applied.stream()
+                .map(PendingImport::organization)
+                .filter(Objects::nonNull)
+                .toList();
+        if (!touched.isEmpty()) {
+            publishChange(touched);
+        }
+        return applied.stream().map(PendingImport::toResult).toList();
     }
 
-    public void deleteOrganization(Integer id) {
-        Organization org = getOrganizationById(id);
-        organizationRepository.delete(org);
-    }
+    /**
+     * Applies fee/gforms changes by short name with a single set-based UPDATE,
+     * then reads the updated organizations back in one query. Short names that
+     * match no organization are skipped and reported instead of failing the
+     * whole batch. When a short name appears more than once, later non-null
+     * values win.
+     */
+    @Transactional
+    public OrganizationBulkUpdateResponseDto bulkUpdateOrganizations(List<OrganizationBulkUpdateDto> updateDtos) {
+        Map<String, OrganizationBulkUpdateDto> changes = new LinkedHashMap<>();
+        Map<String, String> requestedNames = new LinkedHashMap<>();
+        for (OrganizationBulkUpdateDto dto : updateDtos) {
+            if (dto.shortName() == null) {
+                continue;
+            }
+            String key = dto.shortName().toLowerCase(Locale.ROOT);
+            requestedNames.putIfAbsent(key, dto.shortName());
+            changes.merge(key, dto, (previous, next) -> new OrganizationBulkUpdateDto(next.shortName(),
+                    next.fee() != null ? next.fee() : previous.fee(),
+                    next.gformsUrl() != null ? next.gformsUrl() : previous.gformsUrl()));
+        }
+        if (changes.isEmpty()) {
+            return new OrganizationBulkUpdateResponseDto(List.of(), List.of());
+        }
 
-    public Organization patchOrganizationByShortName(String shortName, OrganizationFeeGformsUpdateRequestDto partialUpdate) {
-        Organization existingOrg = getOrganizationByShortName(shortName);
+        String[] shortNames = changes.keySet().toArray(String[]::new);
+        String[] fees = changes.values().stream().map(OrganizationBulkUpdateDto::fee).toArray(String[]::new);
+        String[] gformsUrls = changes.values().stream().map(OrganizationBulkUpdateDto::gformsUrl)
+                .toArray(String[]::new);
+        organizationRepository.bulkUpdateFeeAndGformsUrl(shortNames, fees, gformsUrls);
 
-        if (partialUpdate.fee() != null) {
-            existingOrg.setFee(partialUpdate.fee());
+        Map<String, Organization> updatedByShortName = getOrganizationsByShortNames(changes.keySet());
+        List<Organization> updatedOrgs = changes.keySet().stream()
+                .map(updatedByShortName::get)
+                .filter(Objects::nonNull)
+                .toList();
+        List<String> unknownShortNames = changes.keySet().stream()
+                .filter(key -> !updatedByShortName.containsKey(key))
+                .map(requestedNames::get)
+                .toList();
+        if (!updatedOrgs.isEmpty()) {
+            publishChange(updatedOrgs);
         }
-        if (partialUpdate.gformsUrl() != null) {
-            existingOrg.setGformsUrl(partialUpdate.gformsUrl());
+        return new OrganizationBulkUpdateResponseDto(
+                updatedOrgs.stream().map(OrganizationResponseDto::fromEntity).toList(),
+                unknownShortNames);
+    }
+
+    /**
+     * Loads the organizations with the given short names (case-insensitive),
+     * with cluster and publications, in one query.
+     *
+     * <p>
+     * Short names are only unique case-sensitively, so two organizations can
+     * share a key. The one whose short name was requested exactly wins, and
+     * otherwise the lower id.
+     * </p>
+     *
+     * @return the organizations keyed by lowercased short name; short names
+     *         that match nothing are simply absent
+     */
+    public Map<String, Organization> getOrganizationsByShortNames(Collection<String> shortNames) {
+        Set<String> requested = shortNames.stream()
+                .filter(Objects::nonNull)
+                .collect(Collectors.toSet());
+        Set<String> keys = requested.stream()
+                .map(shortName -> shortName.toLowerCase(Locale.ROOT))
+                .collect(Collectors.toSet());
+        if (keys.isEmpty()) {
+            return Map.of();
         }
+        return organizationRepository.findAllWithClusterAndPublicationsByShortNameIn(keys).stream()
+                .collect(Collectors.toMap(org -> org.getShortName().toLowerCase(Locale.ROOT), Function.identity(),
+                        (first, second) -> preferRequested(first, second, requested)));
+    }
 
-        return organizationRepository.save(existingOrg);
+    private static Organization preferRequested(Organization first, Organization second, Set<String> requested) {
+        boolean firstExact = requested.contains(first.getShortName());
+        boolean secondExact = requested.contains(second.getShortName());
+        if (firstExact != secondExact) {
+            return firstExact ? first : second;
+        }
+        return first.getId() <= second.getId() ? first : second;
     }
 
-    @Transactional
-    public List<Organization> bulkUpdateOrganizations(List<OrganizationBulkUpdateDto> updateDtos) {
-        List<Organization> updatedOrgs = updateDtos.stream().map(dto -> {
-            Organization org = getOrganizationByShortName(dto.shortName());
-            if (dto.fee() != null) {
-                org.setFee(dto.fee());
-            }
-            if (dto.gformsUrl() != null) {
-                org.setGformsUrl(dto.gformsUrl());
+    private static void logThroughput(String action, int count, long startNanos) {
+        long elapsedMs = Math.max(1, (System.nanoTime() - startNanos) / 1_000_000);
+        log.info("{} {} organizations in {} ms ({} orgs/s)", action, count, elapsedMs, count * 1000L / elapsedMs);
+    }
+
+    /**
+     * A line of an import chunk. The organization's id is only read once the
+     * chunk has been flushed, since new organizations get theirs on persist.
+     */
+    private record PendingImport(int line, Organization organization, OrganizationImportResultDto.Status status,
+            String shortName, String error) {
+
+        static PendingImport failed(int line, String shortName, String error) {
+            return new PendingImport(line, null, OrganizationImportResultDto.Status.ERROR, shortName, error);
+        }
+
+        OrganizationImportResultDto toResult() {
+            if (organization == null) {
+                return OrganizationImportResultDto.failed(line, shortName, error);
             }
-            return org;
-        }).collect(Collectors.toList());
+            return new OrganizationImportResultDto(line, status, organization.getId(), organization.getShortName(),
+                    null);
+        }
+    }
+
+    private void publishChange(Integer id) {
+        eventPublisher.publishEvent(CatalogChangedEvent.of(CatalogChangedEvent.Kind.ORGANIZATION, id));
+    }
 
-        return organizationRepository.saveAll(updatedOrgs);
+    private void publishChange(List<Organization> orgs) {
+        List<Integer> ids = orgs.stream().map(Organization::getId).toList();
+        eventPublisher.publishEvent(CatalogChangedEvent.of(CatalogChangedEvent.Kind.ORGANIZATION, ids));
     }
 
 }
@@ -0,0 +1,173 @@
+package org.dlsulscs.arw.organization.service;
+
+import org.dlsulscs.arw.catalog.event.CatalogChangedEvent;
+import org.dlsulscs.arw.organization.dto.OrganizationSuggestionDto;
+import org.dlsulscs.arw.organization.model.Organization;
+import org.dlsulscs.arw.organization.repository.OrganizationRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * In-memory prefix index behind {@code /api/orgs/suggest}.
+ *
+ * <p>
+ * Every organization contributes a few lowercased terms: its full name, the
+ * name starting at each later word (so "comp" finds "DLSU Computer Society"),
+ * its short name and its cluster name. The terms live in one sorted array, so
+ * a lookup is a binary search for the first term with the prefix followed by a
+ * short scan. Writes swap in a rebuilt array; readers never lock.
+ * </p>
+ */
+@Service
+public class OrganizationSuggestIndex {
+    private static final Logger log = LoggerFactory.getLogger(OrganizationSuggestIndex.class);
+
+    // Lower ranks are better matches.
+    private static final int RANK_NAME = 0;
+    private static final int RANK_SHORT_NAME = 0;
+    private static final int RANK_NAME_WORD = 1;
+    private static final int RANK_CLUSTER = 2;
+
+    private final OrganizationRepository organizationRepository;
+    private final Object writeLock = new Object();
+    private volatile Index index;
+
+    @Autowired
+    public OrganizationSuggestIndex(OrganizationRepository organizationRepository) {
+        this.organizationRepository = organizationRepository;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void load() {
+        synchronized (writeLock) {
+            Map<Integer, OrganizationSuggestionDto> orgs = new HashMap<>();
+            for (Organization org : organizationRepository.findAllWithCluster()) {
+                orgs.put(org.getId(), toSuggestion(org));
+            }
+            this.index = Index.of(orgs);
+            log.info("Loaded org suggest index with {} organizations", orgs.size());
+        }
+    }
+
+    /**
+     * Returns up to {@code limit} organizations with a term starting with
+     * {@code prefix}, best matches first.
+     */
+    public List<OrganizationSuggestionDto> suggest(String prefix, int limit) {
+        String key = prefix == null ? "" : prefix.trim().toLowerCase(Locale.ROOT);
+        if (key.isEmpty() || limit < 1) {
+            return List.of();
+        }
+        if (this.index == null) {
+            load();
+        }
+        Index current = this.index;
+
+        Map<Integer, Term> bestByOrg = new LinkedHashMap<>();
+        int i = current.lowerBound(key);
+        while (i < current.terms.length && current.terms[i].key.startsWith(key)) {
+            Term term = current.terms[i++];
+            bestByOrg.merge(term.orgId, term, (a, b) -> Term.RELEVANCE.compare(a, b) <= 0 ? a : b);
+        }
+        return bestByOrg.values().stream()
+                .sorted(Term.RELEVANCE)
+                .limit(limit)
+                .map(term -> current.orgs.get(term.orgId))
+                .toList();
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onCatalogChanged(CatalogChangedEvent event) {
+        if (this.index == null || event.kind() == CatalogChangedEvent.Kind.PUBLICATION) {
+            return;
+        }
+        if (event.kind() == CatalogChangedEvent.Kind.CLUSTER || event.ids().isEmpty()) {
+            // A cluster rename touches every org in it; the index is small enough to rebuild.
+            load();
+            return;
+        }
+        synchronized (writeLock) {
+            Map<Integer, OrganizationSuggestionDto> orgs = new HashMap<>(this.index.orgs);
+            event.ids().forEach(orgs::remove);
+            for (Organization org : organizationRepository.findAllWithClusterByIdIn(event.ids())) {
+                orgs.put(org.getId(), toSuggestion(org));
+            }
+            this.index = Index.of(orgs);
+        }
+    }
+
+    private static OrganizationSuggestionDto toSuggestion(Organization org) {
+        return new OrganizationSuggestionDto(org.getId(), org.getName(), org.getShortName(),
+                org.getCluster() != null ? org.getCluster().getName() : null);
+    }
+
+    private record Term(String key, int rank, int orgId, String name) {
+        static final Comparator<Term> ORDER = Comparator.comparing(Term::key);
+        static final Comparator<Term> RELEVANCE = Comparator.comparingInt(Term::rank)
+                .thenComparingInt(term -> term.key().length())
+                .thenComparing(Term::name, Comparator.nullsLast(String.CASE_INSENSITIVE_ORDER))
+                .thenComparingInt(Term::orgId);
+    }
+
+    private record Index(Term[] terms, Map<Integer, OrganizationSuggestionDto> orgs) {
+
+        static Index of(Map<Integer, OrganizationSuggestionDto> orgs) {
+            List<Term> terms = new ArrayList<>();
+            for (OrganizationSuggestionDto org : orgs.values()) {
+                addTerms(terms, org);
+            }
+            Term[] sorted = terms.toArray(Term[]::new);
+            Arrays.sort(sorted, Term.ORDER);
+            return new Index(sorted, Map.copyOf(orgs));
+        }
+
+        private static void addTerms(List<Term> terms, OrganizationSuggestionDto org) {
+            if (org.name() != null) {
+                String name = org.name().toLowerCase(Locale.ROOT).trim();
+                terms.add(new Term(name, RANK_NAME, org.id(), org.name()));
+                for (int i = name.indexOf(' '); i >= 0; i = name.indexOf(' ', i + 1)) {
+                    String rest = name.substring(i + 1).stripLeading();
+                    if (!rest.isEmpty()) {
+                        terms.add(new Term(rest, RANK_NAME_WORD, org.id(), org.name()));
+                    }
+                }
+            }
+            if (org.shortName() != null) {
+                terms.add(new Term(org.shortName().toLowerCase(Locale.ROOT).trim(), RANK_SHORT_NAME, org.id(),
+                        org.name()));
+            }
+            if (org.clusterName() != null) {
+                terms.add(new Term(org.clusterName().toLowerCase(Locale.ROOT).trim(), RANK_CLUSTER, org.id(),
+                        org.name()));
+            }
+        }
+
+        int lowerBound(String key) {
+            int lo = 0;
+            int hi = terms.length;
+            while (lo < hi) {
+                int mid = (lo + hi) >>> 1;
+                if (terms[mid].key.compareTo(key) < 0) {
+                    lo = mid + 1;
+                } else {
+                    hi = mid;
+                }
+            }
+            return lo;
+        }
+    }
+}
@@ -0,0 +1,299 @@
+package org.dlsulscs.arw.organization.service;
+
+import org.dlsulscs.arw.catalog.model.CatalogEntry;
+import org.dlsulscs.arw.catalog.model.CatalogSnapshot;
+import org.dlsulscs.arw.catalog.service.OrganizationCatalog;
+import org.dlsulscs.arw.common.exception.BadRequestException;
+import org.dlsulscs.arw.common.exception.ResourceNotFoundException;
+import org.dlsulscs.arw.common.spreadsheet.CsvSpreadsheetReader;
+import org.dlsulscs.arw.common.spreadsheet.SpreadsheetReader;
+import org.dlsulscs.arw.common.spreadsheet.SpreadsheetRow;
+import org.dlsulscs.arw.common.spreadsheet.XlsxSpreadsheetReader;
+import org.dlsulscs.arw.organization.dto.OrganizationCreateUpdateRequestDto;
+import org.dlsulscs.arw.organization.dto.OrganizationImportLine;
+import org.dlsulscs.arw.organization.dto.OrganizationImportResultDto;
+import org.dlsulscs.arw.organization.dto.OrganizationResponseDto;
+import org.dlsulscs.arw.organization.dto.SpreadsheetImportReportDto;
+import org.dlsulscs.arw.publication.dto.PublicationUploadRequestDto;
+import org.dlsulscs.arw.publication.dto.PublicationsDto;
+import org.dlsulscs.arw.publication.service.PublicationService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.DataAccessException;
+import org.springframework.stereotype.Service;
+import org.springframework.web.multipart.MultipartFile;
+
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Imports organization and publication data from a CSV or XLSX spreadsheet.
+ *
+ * <p>
+ * The first non-blank row is the header; columns are matched by the same
+ * snake_case names the JSON endpoints use ({@code short_name},
+ * {@code cluster_name}, {@code logo_url}, ...) and unknown columns are
+ * ignored. Rows are streamed, compared against the current catalog snapshot,
+ * and only organizations or publications that actually differ are written,
+ * in batches of {@value #CHUNK_SIZE}. As with the PATCH endpoints, a blank
+ * cell keeps the current value.
+ * </p>
+ */
+@Service
+public class SpreadsheetImportService {
+    private static final Logger log = LoggerFactory.getLogger(SpreadsheetImportService.class);
+
+    static final int CHUNK_SIZE = 200;
+
+    private final OrganizationService organizationService;
+    private final PublicationService publicationService;
+    private final OrganizationCatalog organizationCatalog;
+
+    @Autowired
+    public SpreadsheetImportService(OrganizationService organizationService, PublicationService publicationService,
+            OrganizationCatalog organizationCatalog) {
+        this.organizationService = organizationService;
+        this.publicationService = publicationService;
+        this.organizationCatalog = organizationCatalog;
+    }
+
+    public SpreadsheetImportReportDto importSpreadsheet(MultipartFile file) {
+        long start = System.nanoTime();
+        String filename = file.getOriginalFilename() != null
+                ? file.getOriginalFilename().toLowerCase(Locale.ROOT)
+                : "";
+        Path tempFile = null;
+        try {
+            SpreadsheetReader reader;
+            if (filename.endsWith(".csv")) {
+                reader = new CsvSpreadsheetReader(new InputStreamReader(file.getInputStream(), StandardCharsets.UTF_8));
+            } else if (filename.endsWith(".xlsx")) {
+                // XLSX is a zip whose parts must be read out of order, so it needs a file.
+                tempFile = Files.createTempFile("org-import-", ".xlsx");
+                file.transferTo(tempFile);
+                reader = new XlsxSpreadsheetReader(tempFile);
+            } else {
+                throw new BadRequestException("Unsupported spreadsheet type; upload a .csv or .xlsx file");
+            }
+            try (reader) {
+                ImportRun run = new ImportRun(organizationCatalog.snapshot());
+                SpreadsheetRow row;
+                while ((row = reader.nextRow()) != null) {
+                    run.accept(row);
+                }
+                run.flush();
+                return run.report(start);
+            }
+        } catch (IOException e) {
+            throw new BadRequestException("Could not read spreadsheet: " + e.getMessage());
+        } finally {
+            if (tempFile != null) {
+                try {
+                    Files.deleteIfExists(tempFile);
+                } catch (IOException e) {
+                    log.warn("Could not delete temporary upload {}", tempFile, e);
+                }
+            }
+        }
+    }
+
+    private static boolean differs(String incoming, String current) {
+        return incoming != null && !incoming.equals(current);
+    }
+
+    private static boolean differs(OrganizationCreateUpdateRequestDto incoming, OrganizationResponseDto current) {
+        return differs(incoming.name(), current.name())
+                || differs(incoming.about(), current.about())
+                || differs(incoming.fee(), current.fee())
+                || differs(incoming.gformsUrl(), current.gformsUrl())
+                || differs(incoming.facebookUrl(), current.facebookUrl())
+                || differs(incoming.mission(), current.mission())
+                || differs(incoming.vision(), current.vision())
+                || differs(incoming.tagline(), current.tagline())
+                || incoming.clusterName() != null && (current.cluster() == null
+                        || !incoming.clusterName().equalsIgnoreCase(current.cluster().name()));
+    }
+
+    private static boolean differs(PublicationUploadRequestDto incoming, PublicationsDto current) {
+        if (current == null) {
+            return true;
+        }
+        return differs(incoming.mainPubUrl(), current.mainPubUrl())
+                || differs(incoming.feePubUrl(), current.feePubUrl())
+                || differs(incoming.logoUrl(), current.logoUrl())
+                || differs(incoming.subLogoUrl(), current.subLogoUrl())
+                || differs(incoming.orgVidUrl(), current.orgVidUrl());
+    }
+
+    private static boolean isEmpty(PublicationUploadRequestDto pub) {
+        return pub.mainPubUrl() == null && pub.feePubUrl() == null && pub.logoUrl() == null
+                && pub.subLogoUrl() == null && pub.orgVidUrl() == null;
+    }
+
+    /**
+     * State of one import: the header mapping, the pending batches and the
+     * running totals.
+     */
+    private final class ImportRun {
+        private final CatalogSnapshot snapshot;
+        private final Set<String> seenShortNames = new HashSet<>();
+        private final List<OrganizationImportLine> pendingOrgs = new ArrayList<>();
+        private final List<PendingPublication> pendingPubs = new ArrayList<>();
+        private final List<SpreadsheetImportReportDto.SkippedRow> skipped = new ArrayList<>();
+        private Map<String, Integer> columns;
+        private int rows;
+        private int created;
+        private int updated;
+        private int unchanged;
+        private int publicationsWritten;
+
+        ImportRun(CatalogSnapshot snapshot) {
+            this.snapshot = snapshot;
+        }
+
+        void accept(SpreadsheetRow row) {
+            if (row.isBlank()) {
+                return;
+            }
+            if (columns == null) {
+                readHeader(row);
+                return;
+            }
+            rows++;
+
+            String shortName = cell(row, "short_name");
+            if (shortName == null) {
+                skip(row.number(), null, "Missing short_name");
+                return;
+            }
+            String key = shortName.toLowerCase(Locale.ROOT);
+            if (!seenShortNames.add(key)) {
+                skip(row.number(), shortName, "Duplicate short_name; only its first row is imported");
+                return;
+            }
+
+            OrganizationCreateUpdateRequestDto org = new OrganizationCreateUpdateRequestDto(
+                    cell(row, "name"), shortName, cell(row, "about"), cell(row, "fee"), cell(row, "gforms_url"),
+                    cell(row, "facebook_url"), cell(row, "mission"), cell(row, "vision"), cell(row, "tagline"),
+                    cell(row, "cluster_name"));
+            PublicationUploadRequestDto pub = new PublicationUploadRequestDto(shortName,
+                    cell(row, "main_pub_url"), cell(row, "fee_pub_url"), cell(row, "logo_url"),
+                    cell(row, "sub_logo_url"), cell(row, "org_vid_url"));
+
+            CatalogEntry current = snapshot.byShortName().get(key);
+            boolean orgChanged = current == null || differs(org, current.organization());
+            boolean pubChanged = !isEmpty(pub)
+                    && (current == null || differs(pub, current.organization().publications()));
+            if (!orgChanged && !pubChanged) {
+                unchanged++;
+                return;
+            }
+            if (orgChanged) {
+                pendingOrgs.add(new OrganizationImportLine(row.number(), org));
+            }
+            if (pubChanged) {
+                pendingPubs.add(new PendingPublication(row.number(), pub));
+            }
+            if (pendingOrgs.size() >= CHUNK_SIZE || pendingPubs.size() >= CHUNK_SIZE) {
+                flush();
+            }
+        }
+
+        private void readHeader(SpreadsheetRow row) {
+            columns = new HashMap<>();
+            for (int column = 0; column < row.cells().size(); column++) {
+                String header = row.cell(column);
+                if (header != null) {
+                    columns.putIfAbsent(header.toLowerCase(Locale.ROOT).replaceAll("[\\s-]+", "_"), column);
+                }
+            }
+            if (!columns.containsKey("cluster_name") && columns.containsKey("cluster")) {
+                columns.put("cluster_name", columns.get("cluster"));
+            }
+            if (!columns.containsKey("short_name")) {
+                throw new BadRequestException("Spreadsheet header (row " + row.number() + ") has no short_name column");
+            }
+        }
+
+        private String cell(SpreadsheetRow row, String column) {
+            Integer index = columns.get(column);
+            return index != null ? row.cell(index) : null;
+        }
+
+        /**
+         * Writes the pending organizations, then the publications of every row
+         * whose organization did not fail.
+         */
+        void flush() {
+            Set<String> failedShortNames = new HashSet<>();
+            if (!pendingOrgs.isEmpty()) {
+                try {
+                    for (OrganizationImportResultDto result : organizationService.importChunk(pendingOrgs)) {
+                        switch (result.status()) {
+                            case CREATED -> created++;
+                            case UPDATED -> updated++;
+                            case ERROR -> {
+                                skip(result.line(), result.shortName(), result.error());
+                                failedShortNames.add(result.shortName().toLowerCase(Locale.ROOT));
+                            }
+                        }
+                    }
+                } catch (DataAccessException e) {
+                    String reason = "Batch rolled back: " + e.getMostSpecificCause().getMessage();
+                    for (OrganizationImportLine line : pendingOrgs) {
+                        skip(line.line(), line.organization().shortName(), reason);
+                        failedShortNames.add(line.organization().shortName().toLowerCase(Locale.ROOT));
+                    }
+                }
+            }
+
+            List<PendingPublication> pubs = pendingPubs.stream()
+                    .filter(pub -> !failedShortNames.contains(pub.upload().shortName().toLowerCase(Locale.ROOT)))
+                    .toList();
+            if (!pubs.isEmpty()) {
+                try {
+                    publicationService.bulkUpsertPublications(pubs.stream().map(PendingPublication::upload).toList());
+                    publicationsWritten += pubs.size();
+                } catch (DataAccessException | ResourceNotFoundException e) {
+                    String reason = "Publications batch rolled back: " + e.getMessage();
+                    for (PendingPublication pub : pubs) {
+                        skip(pub.row(), pub.upload().shortName(), reason);
+                    }
+                }
+            }
+            pendingOrgs.clear();
+            pendingPubs.clear();
+        }
+
+        private void skip(int row, String shortName, String reason) {
+            skipped.add(new SpreadsheetImportReportDto.SkippedRow(row, shortName, reason));
+        }
+
+        SpreadsheetImportReportDto report(long startNanos) {
+            if (columns == null) {
+                throw new BadRequestException("Spreadsheet is empty");
+            }
+            long elapsedMs = Math.max(1, (System.nanoTime() - startNanos) / 1_000_000);
+            long rowsPerSecond = rows * 1000L / elapsedMs;
+            log.info("Spreadsheet import: {} rows in {} ms ({} rows/s); {} created, {} updated, {} unchanged, "
+                    + "{} publications written, {} skipped", rows, elapsedMs, rowsPerSecond, created, updated,
+                    unchanged, publicationsWritten, skipped.size());
+            return new SpreadsheetImportReportDto(rows, created, updated, unchanged, publicationsWritten,
+                    List.copyOf(skipped), elapsedMs, rowsPerSecond);
+        }
+    }
+
+    private record PendingPublication(int row, PublicationUploadRequestDto upload) {
+    }
+}
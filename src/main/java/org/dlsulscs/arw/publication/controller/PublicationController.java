@@ -51,14 +51,7 @@ public class PublicationController {
     }
 
     private PublicationsDto mapToDto(Publications p) {
-        return new PublicationsDto(
-            p.getId(),
-            p.getMain_pub_url(),
-            p.getFee_pub_url(),
-            p.getLogo_url(),
-            p.getSub_logo_url(),
-            p.getOrg_vid_url()
-        );
+        return PublicationsDto.fromEntity(p);
     }
 
 }
@@ -1,5 +1,7 @@
 package org.dlsulscs.arw.publication.dto;
 
+import org.dlsulscs.arw.publication.model.Publications;
+
 public record PublicationsDto(
         Integer id,
         String mainPubUrl,
@@ -8,4 +10,17 @@ public record PublicationsDto(
         String subLogoUrl,
         String orgVidUrl
 ) {
+
+    public static PublicationsDto fromEntity(Publications p) {
+        if (p == null) {
+            return null;
+        }
+        return new PublicationsDto(
+                p.getId(),
+                p.getMain_pub_url(),
+                p.getFee_pub_url(),
+                p.getLogo_url(),
+                p.getSub_logo_url(),
+                p.getOrg_vid_url());
+    }
 }
@@ -9,6 +9,7 @@ import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
 import jakarta.persistence.JoinColumn;
 import jakarta.persistence.OneToOne;
+import jakarta.persistence.SequenceGenerator;
 import jakarta.persistence.Table;
 import lombok.AllArgsConstructor;
 import lombok.Data;
@@ -21,7 +22,8 @@ import lombok.NoArgsConstructor;
 @Table(name = "org_pubs")
 public class Publications {
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "org_pubs_id_seq")
+    @SequenceGenerator(name = "org_pubs_id_seq", sequenceName = "org_pubs_id_seq", allocationSize = 50)
     private Integer id;
     private String main_pub_url;
     private String fee_pub_url;
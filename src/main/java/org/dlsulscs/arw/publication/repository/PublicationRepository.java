@@ -4,10 +4,12 @@ import java.util.Optional;
 
 import org.dlsulscs.arw.publication.model.Publications;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 import org.dlsulscs.arw.organization.model.Organization;
 
@@ -16,6 +18,29 @@ public interface PublicationRepository extends JpaRepository<Publications, Integ
     @Query("SELECT p FROM Publications p WHERE lower(p.organization.name) = lower(:orgName)")
     Optional<Publications> findPubsByOrgName(@Param("orgName") String orgName);
     Optional<Publications> findByOrganization(Organization organization);
-    List<Publications> findByOrganizationIn(List<Organization> organizations);
+
+    @Query("SELECT p FROM Publications p JOIN FETCH p.organization o LEFT JOIN FETCH o.cluster " +
+            "WHERE o.id IN :orgIds")
+    List<Publications> findByOrganizationIdIn(@Param("orgIds") Collection<Integer> orgIds);
+
+    /**
+     * Inserts or updates the publications of many organizations in one
+     * statement. The arrays are parallel: element {@code i} of each belongs to
+     * the organization {@code orgIds[i]}. On an update a {@code null} value
+     * keeps the current one.
+     */
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query(value = "INSERT INTO org_pubs (org_id, main_pub_url, fee_pub_url, logo_url, sub_logo_url, org_vid_url)" +
+            " SELECT * FROM unnest(CAST(:orgIds AS int[]), CAST(:mainPubUrls AS text[]), CAST(:feePubUrls AS text[])," +
+            " CAST(:logoUrls AS text[]), CAST(:subLogoUrls AS text[]), CAST(:orgVidUrls AS text[]))" +
+            " ON CONFLICT (org_id) DO UPDATE SET" +
+            " main_pub_url = coalesce(EXCLUDED.main_pub_url, org_pubs.main_pub_url)," +
+            " fee_pub_url = coalesce(EXCLUDED.fee_pub_url, org_pubs.fee_pub_url)," +
+            " logo_url = coalesce(EXCLUDED.logo_url, org_pubs.logo_url)," +
+            " sub_logo_url = coalesce(EXCLUDED.sub_logo_url, org_pubs.sub_logo_url)," +
+            " org_vid_url = coalesce(EXCLUDED.org_vid_url, org_pubs.org_vid_url)", nativeQuery = true)
+    int bulkUpsert(@Param("orgIds") Integer[] orgIds, @Param("mainPubUrls") String[] mainPubUrls,
+            @Param("feePubUrls") String[] feePubUrls, @Param("logoUrls") String[] logoUrls,
+            @Param("subLogoUrls") String[] subLogoUrls, @Param("orgVidUrls") String[] orgVidUrls);
     // or can be Publications findByOrganization_Name(String name);
 }
@@ -1,29 +1,40 @@
 package org.dlsulscs.arw.publication.service;
 
+import org.dlsulscs.arw.catalog.event.CatalogChangedEvent;
 import org.dlsulscs.arw.common.exception.ResourceNotFoundException;
 import org.dlsulscs.arw.organization.model.Organization;
 import org.dlsulscs.arw.organization.service.OrganizationService;
 import org.dlsulscs.arw.publication.dto.PublicationUploadRequestDto;
 import org.dlsulscs.arw.publication.model.Publications;
 import org.dlsulscs.arw.publication.repository.PublicationRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.util.ArrayList;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Locale;
 import java.util.Map;
 import java.util.stream.Collectors;
 
 @Service
 public class PublicationService {
+    private static final Logger log = LoggerFactory.getLogger(PublicationService.class);
+
     private final PublicationRepository publicationRepository;
     private final OrganizationService organizationService;
+    private final ApplicationEventPublisher eventPublisher;
 
     @Autowired
-    public PublicationService(PublicationRepository publicationRepository, OrganizationService organizationService) {
+    public PublicationService(PublicationRepository publicationRepository, OrganizationService organizationService,
+            ApplicationEventPublisher eventPublisher) {
         this.publicationRepository = publicationRepository;
         this.organizationService = organizationService;
+        this.eventPublisher = eventPublisher;
     }
 
     /*
@@ -53,24 +64,64 @@ public class PublicationService {
         if (dto.subLogoUrl() != null) publications.setSub_logo_url(dto.subLogoUrl());
         if (dto.orgVidUrl() != null) publications.setOrg_vid_url(dto.orgVidUrl());
 
-        return publicationRepository.save(publications);
+        Publications savedPub = publicationRepository.save(publications);
+        eventPublisher.publishEvent(CatalogChangedEvent.of(CatalogChangedEvent.Kind.PUBLICATION, org.getId()));
+        return savedPub;
     }
 
+    /**
+     * Upserts all publications with one {@code INSERT ... ON CONFLICT (org_id)}
+     * statement. The target organizations are resolved in one query up front
+     * and the results are read back in another, so the whole upload costs a
+     * handful of statements however many organizations it covers. A field left
+     * {@code null} keeps its current value; when a short name appears more
+     * than once, later non-null values win.
+     */
     @Transactional
     public List<Publications> bulkUpsertPublications(List<PublicationUploadRequestDto> dtos) {
-        List<Publications> pubsToSave = dtos.stream().map(dto -> {
-            Organization org = organizationService.getOrganizationByShortName(dto.shortName());
-            Publications publications = publicationRepository.findByOrganization(org)
-                                            .orElse(new Publications());
-            publications.setOrganization(org);
-            if (dto.mainPubUrl() != null) publications.setMain_pub_url(dto.mainPubUrl());
-            if (dto.feePubUrl() != null) publications.setFee_pub_url(dto.feePubUrl());
-            if (dto.logoUrl() != null) publications.setLogo_url(dto.logoUrl());
-            if (dto.subLogoUrl() != null) publications.setSub_logo_url(dto.subLogoUrl());
-            if (dto.orgVidUrl() != null) publications.setOrg_vid_url(dto.orgVidUrl());
-            return publications;
-        }).collect(Collectors.toList());
+        long start = System.nanoTime();
+        Map<String, Organization> orgsByShortName = organizationService.getOrganizationsByShortNames(
+                dtos.stream().map(PublicationUploadRequestDto::shortName).toList());
+        Map<Integer, PublicationUploadRequestDto> changes = new LinkedHashMap<>();
+        for (PublicationUploadRequestDto dto : dtos) {
+            Organization org = dto.shortName() != null
+                    ? orgsByShortName.get(dto.shortName().toLowerCase(Locale.ROOT))
+                    : null;
+            if (org == null) {
+                throw new ResourceNotFoundException("Organization not found with short name: " + dto.shortName());
+            }
+            changes.merge(org.getId(), dto, PublicationService::mergeUpload);
+        }
+        if (changes.isEmpty()) {
+            return List.of();
+        }
+
+        List<PublicationUploadRequestDto> uploads = List.copyOf(changes.values());
+        publicationRepository.bulkUpsert(
+                changes.keySet().toArray(Integer[]::new),
+                uploads.stream().map(PublicationUploadRequestDto::mainPubUrl).toArray(String[]::new),
+                uploads.stream().map(PublicationUploadRequestDto::feePubUrl).toArray(String[]::new),
+                uploads.stream().map(PublicationUploadRequestDto::logoUrl).toArray(String[]::new),
+                uploads.stream().map(PublicationUploadRequestDto::subLogoUrl).toArray(String[]::new),
+                uploads.stream().map(PublicationUploadRequestDto::orgVidUrl).toArray(String[]::new));
+        List<Publications> savedPubs = publicationRepository.findByOrganizationIdIn(changes.keySet());
+
+        long elapsedMs = Math.max(1, (System.nanoTime() - start) / 1_000_000);
+        log.info("Bulk-upserted {} publications in {} ms ({} pubs/s)", savedPubs.size(), elapsedMs,
+                savedPubs.size() * 1000L / elapsedMs);
+        List<Integer> orgIds = savedPubs.stream().map(p -> p.getOrganization().getId()).toList();
+        eventPublisher.publishEvent(CatalogChangedEvent.of(CatalogChangedEvent.Kind.PUBLICATION, orgIds));
+        return savedPubs;
+    }
 
-        return publicationRepository.saveAll(pubsToSave);
+    private static PublicationUploadRequestDto mergeUpload(PublicationUploadRequestDto previous,
+            PublicationUploadRequestDto next) {
+        return new PublicationUploadRequestDto(
+                next.shortName(),
+                next.mainPubUrl() != null ? next.mainPubUrl() : previous.mainPubUrl(),
+                next.feePubUrl() != null ? next.feePubUrl() : previous.feePubUrl(),
+                next.logoUrl() != null ? next.logoUrl() : previous.logoUrl(),
+                next.subLogoUrl() != null ? next.subLogoUrl() : previous.subLogoUrl(),
+                next.orgVidUrl() != null ? next.orgVidUrl() : previous.orgVidUrl());
     }
 }
@@ -0,0 +1,84 @@
+package org.dlsulscs.arw.user.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.dlsulscs.arw.user.model.User;
+import org.dlsulscs.arw.user.repository.UserRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.util.Optional;
+
+/**
+ * Short-lived read-through cache of users by email, used to authenticate
+ * requests without a database round trip.
+ *
+ * <p>
+ * Unknown emails are not cached. Each hit is a fresh copy, so callers cannot
+ * change what others see. A login that changes the user's profile evicts it
+ * once it commits; the TTL bounds staleness for anything else.
+ * Hit and miss counts are published as {@code cache.gets{cache=users.by-email}}.
+ * </p>
+ */
+@Component
+public class UserPrincipalCache {
+
+    private final UserRepository userRepository;
+    private final Cache<String, User> byEmail;
+
+    @Autowired
+    public UserPrincipalCache(UserRepository userRepository, MeterRegistry meterRegistry,
+            @Value("${app.user-cache.maximum-size:10000}") long maximumSize,
+            @Value("${app.user-cache.ttl:60s}") Duration ttl) {
+        this.userRepository = userRepository;
+        this.byEmail = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfterWrite(ttl)
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, byEmail, "users.by-email");
+    }
+
+    public Optional<User> findByEmail(String email) {
+        if (email == null) {
+            return Optional.empty();
+        }
+        User cached = byEmail.getIfPresent(email);
+        if (cached != null) {
+            return Optional.of(copyOf(cached));
+        }
+        Optional<User> loaded = userRepository.findByEmail(email);
+        loaded.ifPresent(user -> byEmail.put(email, copyOf(user)));
+        return loaded;
+    }
+
+    /**
+     * Drops {@code email} after the current transaction commits, or right away
+     * when there is none.
+     */
+    public void evict(String email) {
+        if (email == null) {
+            return;
+        }
+        byEmail.invalidate(email);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            // A request may have re-cached the old row before the commit.
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    byEmail.invalidate(email);
+                }
+            });
+        }
+    }
+
+    private static User copyOf(User user) {
+        return new User(user.getId(), user.getEmail(), user.getDisplay_picture(), user.getName());
+    }
+}
@@ -0,0 +1,18 @@
+-- Indexes backing the ranked search behind /api/orgs/search.
+CREATE EXTENSION IF NOT EXISTS pg_trgm;
+
+-- Weighted full-text document: names rank above the tagline, which ranks above the about text.
+ALTER TABLE orgs ADD COLUMN search_vector tsvector
+    GENERATED ALWAYS AS (
+        setweight(to_tsvector('simple', coalesce(name, '')), 'A') ||
+        setweight(to_tsvector('simple', coalesce(short_name, '')), 'A') ||
+        setweight(to_tsvector('simple', coalesce(tagline, '')), 'B') ||
+        setweight(to_tsvector('simple', coalesce(about, '')), 'C')
+    ) STORED;
+
+CREATE INDEX orgs_search_vector_idx ON orgs USING GIN (search_vector);
+
+-- Trigram indexes serve the substring (LIKE '%q%') matches and similarity ranking.
+CREATE INDEX orgs_name_trgm_idx ON orgs USING GIN (lower(name) gin_trgm_ops);
+CREATE INDEX orgs_short_name_trgm_idx ON orgs USING GIN (lower(short_name) gin_trgm_ops);
+CREATE INDEX clusters_name_trgm_idx ON clusters USING GIN (lower(name) gin_trgm_ops);
@@ -0,0 +1,26 @@
+-- Identity columns force Hibernate to insert one row per round trip. Switch the
+-- bulk-written tables to sequences that hand out blocks of 50 ids, matching the
+-- allocationSize of the entity mappings, so inserts can be batched.
+--
+-- Hibernate's pooled optimizer treats each nextval as the top of its block, so
+-- every sequence is positioned one full block past the current maximum id.
+
+ALTER TABLE clusters ALTER COLUMN id DROP IDENTITY;
+CREATE SEQUENCE clusters_id_seq INCREMENT BY 50 OWNED BY clusters.id;
+SELECT setval('clusters_id_seq', (SELECT COALESCE(MAX(id), 0) + 50 FROM clusters), false);
+ALTER TABLE clusters ALTER COLUMN id SET DEFAULT nextval('clusters_id_seq');
+
+ALTER TABLE users ALTER COLUMN id DROP IDENTITY;
+CREATE SEQUENCE users_id_seq INCREMENT BY 50 OWNED BY users.id;
+SELECT setval('users_id_seq', (SELECT COALESCE(MAX(id), 0) + 50 FROM users), false);
+ALTER TABLE users ALTER COLUMN id SET DEFAULT nextval('users_id_seq');
+
+ALTER TABLE orgs ALTER COLUMN id DROP IDENTITY;
+CREATE SEQUENCE orgs_id_seq INCREMENT BY 50 OWNED BY orgs.id;
+SELECT setval('orgs_id_seq', (SELECT COALESCE(MAX(id), 0) + 50 FROM orgs), false);
+ALTER TABLE orgs ALTER COLUMN id SET DEFAULT nextval('orgs_id_seq');
+
+ALTER TABLE org_pubs ALTER COLUMN id DROP IDENTITY;
+CREATE SEQUENCE org_pubs_id_seq INCREMENT BY 50 OWNED BY org_pubs.id;
+SELECT setval('org_pubs_id_seq', (SELECT COALESCE(MAX(id), 0) + 50 FROM org_pubs), false);
+ALTER TABLE org_pubs ALTER COLUMN id SET DEFAULT nextval('org_pubs_id_seq');
@@ -0,0 +1,10 @@
+-- Each organization has at most one publications row (the entity already maps
+-- org_id as unique). Enforce it so bulk uploads can upsert with ON CONFLICT.
+
+-- Keep only the newest row of any duplicates.
+DELETE FROM org_pubs p
+USING org_pubs newer
+WHERE p.org_id = newer.org_id
+  AND p.id < newer.id;
+
+ALTER TABLE org_pubs ADD CONSTRAINT org_pubs_org_id_unique UNIQUE (org_id);
@@ -0,0 +1,9 @@
+-- Lookups by name compare lower(column) = lower(:param). A plain index (such as
+-- the UNIQUE (short_name) constraint from V4) cannot serve that, so add the
+-- matching expression indexes.
+CREATE INDEX orgs_lower_name_idx ON orgs (lower(name));
+CREATE INDEX orgs_lower_short_name_idx ON orgs (lower(short_name));
+CREATE INDEX clusters_lower_name_idx ON clusters (lower(name));
+
+-- Foreign key used by every cluster filter and join.
+CREATE INDEX orgs_cluster_id_idx ON orgs (cluster_id);
@@ -0,0 +1,8 @@
+-- Refresh tokens are stored as SHA-256 digests, never in the clear. Hash the
+-- existing ones in place so that signed-in users keep their sessions.
+ALTER TABLE refresh_tokens RENAME COLUMN token TO token_hash;
+UPDATE refresh_tokens SET token_hash = encode(sha256(convert_to(token_hash, 'UTF8')), 'hex');
+ALTER TABLE refresh_tokens ALTER COLUMN token_hash TYPE VARCHAR(64);
+
+-- The expiry reaper deletes expired rows in batches ordered by expiry_date.
+CREATE INDEX refresh_tokens_expiry_date_idx ON refresh_tokens (expiry_date);
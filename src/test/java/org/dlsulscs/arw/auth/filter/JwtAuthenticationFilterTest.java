@@ -0,0 +1,96 @@
+package org.dlsulscs.arw.auth.filter;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.servlet.http.Cookie;
+import org.dlsulscs.arw.auth.service.AccessTokenResolver;
+import org.dlsulscs.arw.auth.service.JwtService;
+import org.dlsulscs.arw.auth.service.VerifiedTokenCache;
+import org.dlsulscs.arw.config.properties.JwtProperties;
+import org.dlsulscs.arw.user.model.User;
+import org.dlsulscs.arw.user.service.UserPrincipalCache;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.spy;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class JwtAuthenticationFilterTest {
+
+    private static final String SECRET = "test-secret-that-is-long-enough-for-hmac-sha-256";
+
+    private final JwtService jwtService = spy(new JwtService(new JwtProperties(SECRET, 60_000, 120_000)));
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final UserPrincipalCache userPrincipalCache = mock(UserPrincipalCache.class);
+    private final JwtAuthenticationFilter filter = new JwtAuthenticationFilter(new AccessTokenResolver(jwtService),
+            new VerifiedTokenCache(meterRegistry, 100), userPrincipalCache);
+
+    @AfterEach
+    void clearContext() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    void repeatRequestsWithTheSameTokenSkipVerification() throws Exception {
+        User user = new User();
+        user.setEmail("someone@dlsu.edu.ph");
+        user.setName("Someone");
+        String token = jwtService.generateAccessToken(user);
+
+        for (int i = 0; i < 3; i++) {
+            SecurityContextHolder.clearContext();
+            filter.doFilter(requestWith(token), new MockHttpServletResponse(), new MockFilterChain());
+
+            Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+            assertThat(authentication).isNotNull();
+            assertThat(((User) authentication.getPrincipal()).getName()).isEqualTo("Someone");
+        }
+        verify(jwtService, times(1)).parseToken(anyString());
+        assertThat(meterRegistry.get("cache.gets").tag("cache", "jwt.verified").tag("result", "hit")
+                .functionCounter().count()).isEqualTo(2);
+    }
+
+    @Test
+    void principalsWithoutProfileClaimsAreResolvedOnEveryHit() throws Exception {
+        String token = jwtService.generateAccessToken("someone@dlsu.edu.ph");
+        when(userPrincipalCache.findByEmail("someone@dlsu.edu.ph"))
+                .thenReturn(Optional.of(new User(1, "someone@dlsu.edu.ph", null, "Old Name")))
+                .thenReturn(Optional.of(new User(1, "someone@dlsu.edu.ph", null, "New Name")));
+
+        filter.doFilter(requestWith(token), new MockHttpServletResponse(), new MockFilterChain());
+        SecurityContextHolder.clearContext();
+        filter.doFilter(requestWith(token), new MockHttpServletResponse(), new MockFilterChain());
+
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        assertThat(((User) authentication.getPrincipal()).getName()).isEqualTo("New Name");
+        verify(jwtService, times(1)).parseToken(token);
+    }
+
+    @Test
+    void rejectedTokensAreNotCached() throws Exception {
+        String token = new JwtService(new JwtProperties(SECRET, -1_000, 120_000)).generateAccessToken("a@b.c");
+
+        filter.doFilter(requestWith(token), new MockHttpServletResponse(), new MockFilterChain());
+        filter.doFilter(requestWith(token), new MockHttpServletResponse(), new MockFilterChain());
+
+        assertThat(SecurityContextHolder.getContext().getAuthentication()).isNull();
+        verify(jwtService, times(2)).parseToken(token);
+    }
+
+    private static MockHttpServletRequest requestWith(String token) {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/users/me");
+        request.setCookies(new Cookie(AccessTokenResolver.ACCESS_TOKEN_COOKIE, token));
+        return request;
+    }
+}
@@ -0,0 +1,56 @@
+package org.dlsulscs.arw.auth.service;
+
+import jakarta.servlet.http.Cookie;
+import org.dlsulscs.arw.config.properties.JwtProperties;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.spy;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+class JwtServiceTest {
+
+    private static final String SECRET = "test-secret-that-is-long-enough-for-hmac-sha-256";
+
+    private final JwtService jwtService = new JwtService(new JwtProperties(SECRET, 60_000, 120_000));
+
+    @Test
+    void validTokenYieldsItsClaims() {
+        TokenParseResult result = jwtService.parseToken(jwtService.generateAccessToken("someone@dlsu.edu.ph"));
+
+        assertThat(result.isValid()).isTrue();
+        assertThat(result.claims().getSubject()).isEqualTo("someone@dlsu.edu.ph");
+    }
+
+    @Test
+    void rejectedTokensReportWhy() {
+        JwtService expiring = new JwtService(new JwtProperties(SECRET, -1_000, 120_000));
+        JwtService otherKey = new JwtService(
+                new JwtProperties("another-secret-that-is-long-enough-for-hmac-sha", 60_000, 120_000));
+
+        assertThat(jwtService.parseToken(expiring.generateAccessToken("a@b.c")).failure())
+                .isEqualTo(TokenParseResult.Failure.EXPIRED);
+        assertThat(jwtService.parseToken(otherKey.generateAccessToken("a@b.c")).failure())
+                .isEqualTo(TokenParseResult.Failure.INVALID_SIGNATURE);
+        assertThat(jwtService.parseToken("not-a-jwt").failure()).isEqualTo(TokenParseResult.Failure.MALFORMED);
+        assertThat(jwtService.parseToken(null).failure()).isEqualTo(TokenParseResult.Failure.MISSING);
+    }
+
+    @Test
+    void resolverParsesEachRequestOnce() {
+        JwtService spied = spy(jwtService);
+        AccessTokenResolver resolver = new AccessTokenResolver(spied);
+        String token = jwtService.generateAccessToken("someone@dlsu.edu.ph");
+        MockHttpServletRequest request = new MockHttpServletRequest();
+        request.setCookies(new Cookie(AccessTokenResolver.ACCESS_TOKEN_COOKIE, token));
+
+        TokenParseResult first = resolver.resolve(request);
+        TokenParseResult second = resolver.resolve(request);
+
+        assertThat(second).isSameAs(first);
+        assertThat(first.isValid()).isTrue();
+        verify(spied, times(1)).parseToken(token);
+    }
+}
@@ -0,0 +1,62 @@
+package org.dlsulscs.arw.auth.service;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.dlsulscs.arw.auth.model.RefreshToken;
+import org.dlsulscs.arw.auth.repository.RefreshTokenRepository;
+import org.dlsulscs.arw.user.model.User;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class RefreshTokenCacheTest {
+
+    private final RefreshTokenRepository refreshTokenRepository = mock(RefreshTokenRepository.class);
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final RefreshTokenCache cache =
+            new RefreshTokenCache(refreshTokenRepository, meterRegistry, 100, Duration.ofMinutes(1));
+
+    @Test
+    void repeatLookupsAreServedFromMemoryAsCopies() {
+        when(refreshTokenRepository.findByTokenHash("abc"))
+                .thenReturn(Optional.of(token("abc", Instant.now().plus(Duration.ofDays(7)))));
+
+        RefreshToken first = cache.findByTokenHash("abc").orElseThrow();
+        RefreshToken second = cache.findByTokenHash("abc").orElseThrow();
+        second.getUser().setName("changed");
+
+        assertThat(cache.findByTokenHash("abc").orElseThrow().getUser().getName()).isEqualTo("Student");
+        assertThat(second).isNotSameAs(first);
+        verify(refreshTokenRepository, times(1)).findByTokenHash("abc");
+        assertThat(meterRegistry.get("cache.gets").tag("cache", "refresh-tokens").tag("result", "hit")
+                .functionCounter().count()).isEqualTo(2);
+    }
+
+    @Test
+    void evictedAndExpiredTokensGoBackToTheDatabase() {
+        when(refreshTokenRepository.findByTokenHash("abc"))
+                .thenReturn(Optional.of(token("abc", Instant.now().plus(Duration.ofDays(7)))));
+        when(refreshTokenRepository.findByTokenHash("old"))
+                .thenReturn(Optional.of(token("old", Instant.now().minusSeconds(1))));
+
+        cache.findByTokenHash("abc");
+        cache.evict("abc");
+        cache.findByTokenHash("abc");
+        cache.findByTokenHash("old");
+        cache.findByTokenHash("old");
+
+        verify(refreshTokenRepository, times(2)).findByTokenHash("abc");
+        verify(refreshTokenRepository, times(2)).findByTokenHash("old");
+    }
+
+    private static RefreshToken token(String hash, Instant expiryDate) {
+        return new RefreshToken(1, hash, expiryDate, new User(5, "student@dlsu.edu.ph", null, "Student"));
+    }
+}
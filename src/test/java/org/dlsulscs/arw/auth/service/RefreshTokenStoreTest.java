@@ -0,0 +1,130 @@
+package org.dlsulscs.arw.auth.service;
+
+import org.dlsulscs.arw.auth.model.RefreshToken;
+import org.dlsulscs.arw.user.model.User;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfEnvironmentVariable;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.oauth2.core.user.DefaultOAuth2User;
+import org.springframework.security.oauth2.core.user.OAuth2User;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Instant;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Runs the login upsert, the refresh-token store and its reaper against a
+ * real Postgres.
+ *
+ * <p>
+ * Only runs when {@code SPRING_DATASOURCE_URL} points at a database. Every
+ * test runs in a transaction that is rolled back.
+ * </p>
+ */
+@SpringBootTest(properties = "app.refresh-token-reaper.batch-size=100")
+@Transactional
+@EnabledIfEnvironmentVariable(named = "SPRING_DATASOURCE_URL", matches = ".+")
+class RefreshTokenStoreTest {
+
+    private static final int EXPIRED_COUNT = 2500;
+    private static final int LIVE_COUNT = 2500;
+
+    @Autowired
+    private RefreshTokenService refreshTokenService;
+
+    @Autowired
+    private RefreshTokenReaper refreshTokenReaper;
+
+    @Autowired
+    private LoginService loginService;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    void loginStoresOnlyTheDigestAndRotatesIt() {
+        String first = loginService.login(googleUser("refresh-store@dlsu.edu.ph", "Refresh Store", null))
+                .refreshToken();
+        LoginService.Login second = loginService.login(googleUser("refresh-store@dlsu.edu.ph", "Refresh Store", null));
+        List<String> stored = jdbcTemplate.queryForList(
+                "SELECT token_hash FROM refresh_tokens WHERE user_id = ?", String.class, second.user().getId());
+
+        assertThat(stored).containsExactly(TokenDigests.sha256Hex(second.refreshToken()));
+        assertThat(refreshTokenService.findByToken(first)).isEmpty();
+        assertThat(refreshTokenService.findByToken(stored.get(0))).isEmpty();
+        RefreshToken found = refreshTokenService.findByToken(second.refreshToken()).orElseThrow();
+        assertThat(found.getUser().getEmail()).isEqualTo("refresh-store@dlsu.edu.ph");
+
+        refreshTokenService.deleteByToken(second.refreshToken());
+        assertThat(refreshTokenService.findByToken(second.refreshToken())).isEmpty();
+    }
+
+    @Test
+    void loginOnlyRewritesTheUserWhenTheProfileChanged() {
+        User created = loginService.login(googleUser("login-upsert@dlsu.edu.ph", "Old Name", "old.png")).user();
+        // Every UPDATE writes a new row version, even inside one transaction.
+        String version = userRowVersion(created.getId());
+
+        User unchanged = loginService.login(googleUser("login-upsert@dlsu.edu.ph", "Old Name", "old.png")).user();
+        assertThat(unchanged.getId()).isEqualTo(created.getId());
+        assertThat(userRowVersion(created.getId())).isEqualTo(version);
+
+        User renamed = loginService.login(googleUser("login-upsert@dlsu.edu.ph", "New Name", "old.png")).user();
+        assertThat(renamed.getId()).isEqualTo(created.getId());
+        assertThat(renamed.getName()).isEqualTo("New Name");
+        assertThat(userRowVersion(created.getId())).isNotEqualTo(version);
+        assertThat(jdbcTemplate.queryForObject("SELECT count(*) FROM users WHERE email = ?", Integer.class,
+                "login-upsert@dlsu.edu.ph")).isEqualTo(1);
+    }
+
+    @Test
+    void reaperDeletesOnlyExpiredTokensThroughTheExpiryIndex() {
+        seedTokens();
+
+        // Same statement as RefreshTokenRepository.deleteExpiredBatch; EXPLAIN alone does not run it.
+        String plan = String.join("\n", jdbcTemplate.queryForList("EXPLAIN DELETE FROM refresh_tokens WHERE id = ANY(ARRAY("
+                + "SELECT id FROM refresh_tokens WHERE expiry_date < now() "
+                + "ORDER BY expiry_date LIMIT 100 FOR UPDATE SKIP LOCKED))", String.class));
+        int deleted = refreshTokenReaper.reapExpired(Instant.now());
+
+        assertThat(plan).contains("refresh_tokens_expiry_date_idx").doesNotContain("Seq Scan");
+        assertThat(deleted).isGreaterThanOrEqualTo(EXPIRED_COUNT);
+        assertThat(jdbcTemplate.queryForObject("SELECT count(*) FROM refresh_tokens WHERE expiry_date < now()",
+                Integer.class)).isZero();
+        assertThat(jdbcTemplate.queryForObject("SELECT count(*) FROM refresh_tokens WHERE expiry_date > now()",
+                Integer.class)).isGreaterThanOrEqualTo(LIVE_COUNT);
+    }
+
+    private String userRowVersion(Integer id) {
+        return jdbcTemplate.queryForObject("SELECT ctid::text FROM users WHERE id = ?", String.class, id);
+    }
+
+    private static OAuth2User googleUser(String email, String name, String picture) {
+        Map<String, Object> attributes = new HashMap<>();
+        attributes.put("email", email);
+        attributes.put("name", name);
+        attributes.put("picture", picture);
+        return new DefaultOAuth2User(List.of(), attributes, "email");
+    }
+
+    private void seedTokens() {
+        jdbcTemplate.update("INSERT INTO users (email, name) "
+                + "SELECT 'reaper-' || g || '@dlsu.edu.ph', 'Reaper ' || g FROM generate_series(1, ?) g",
+                EXPIRED_COUNT + LIVE_COUNT);
+        // Half the tokens expired over the last few days, the other half are still good for a week.
+        jdbcTemplate.update("INSERT INTO refresh_tokens (token_hash, expiry_date, user_id) "
+                + "SELECT md5(u.email) || md5(u.name), "
+                + "CASE WHEN row_number() OVER (ORDER BY u.id) <= ? "
+                + "THEN now() - (random() * interval '3 days') - interval '1 minute' "
+                + "ELSE now() + interval '7 days' END, u.id "
+                + "FROM users u WHERE u.email LIKE 'reaper-%'", EXPIRED_COUNT);
+        // The planner needs statistics to see that the table is no longer tiny.
+        jdbcTemplate.execute("ANALYZE refresh_tokens");
+    }
+}
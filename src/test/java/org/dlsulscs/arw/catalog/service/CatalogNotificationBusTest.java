@@ -0,0 +1,161 @@
+package org.dlsulscs.arw.catalog.service;
+
+import org.dlsulscs.arw.catalog.event.CatalogChangedEvent;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfEnvironmentVariable;
+import org.postgresql.PGConnection;
+import org.postgresql.PGNotification;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.Statement;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.awaitility.Awaitility.await;
+
+/**
+ * Runs the invalidation bus against a real Postgres, playing the part of the
+ * other replicas with plain JDBC.
+ *
+ * <p>
+ * Only runs when {@code SPRING_DATASOURCE_URL} points at a database.
+ * </p>
+ */
+@SpringBootTest
+@EnabledIfEnvironmentVariable(named = "SPRING_DATASOURCE_URL", matches = ".+")
+class CatalogNotificationBusTest {
+
+    private static final Duration TIMEOUT = Duration.ofSeconds(10);
+    private static final int FAILING_ID = -13;
+
+    @TestConfiguration
+    static class FailingListenerConfig {
+
+        @Bean
+        RemoteEventRecorder remoteEventRecorder() {
+            return new RemoteEventRecorder();
+        }
+    }
+
+    /**
+     * Records remote changes and fails on {@link #FAILING_ID}, like a read
+     * model whose reload hit a database error.
+     */
+    static class RemoteEventRecorder {
+        final List<List<Integer>> received = new CopyOnWriteArrayList<>();
+
+        @EventListener
+        void onCatalogChanged(CatalogChangedEvent event) {
+            if (!event.remote()) {
+                return;
+            }
+            received.add(event.ids());
+            if (event.ids().contains(FAILING_ID)) {
+                throw new IllegalStateException("read model reload failed");
+            }
+        }
+    }
+
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private DataSourceProperties dataSourceProperties;
+
+    @Autowired
+    private OrganizationCatalog organizationCatalog;
+
+    @Autowired
+    private RemoteEventRecorder remoteEventRecorder;
+
+    @Test
+    void localChangesAreNotifiedToOtherReplicas() throws Exception {
+        try (Connection replica = connect()) {
+            try (Statement statement = replica.createStatement()) {
+                statement.execute("LISTEN " + CatalogNotificationBus.CHANNEL);
+            }
+
+            eventPublisher.publishEvent(CatalogChangedEvent.of(CatalogChangedEvent.Kind.ORGANIZATION, 42));
+
+            List<String> payloads = new ArrayList<>();
+            PGConnection pgConnection = replica.unwrap(PGConnection.class);
+            await().atMost(TIMEOUT).until(() -> {
+                PGNotification[] notifications = pgConnection.getNotifications(100);
+                if (notifications != null) {
+                    for (PGNotification notification : notifications) {
+                        payloads.add(notification.getParameter());
+                    }
+                }
+                return !payloads.isEmpty();
+            });
+            assertThat(payloads.get(0)).contains("\"kind\":\"ORGANIZATION\"").contains("\"ids\":[42]");
+        }
+    }
+
+    @Test
+    void otherReplicasChangesAreAppliedLocally() {
+        long before = organizationCatalog.version();
+
+        // The listener connects in the background, so keep announcing until it hears one.
+        await().atMost(TIMEOUT).pollInterval(Duration.ofMillis(200)).until(() -> {
+            jdbcTemplate.query("SELECT pg_notify(?, ?)", rs -> { }, CatalogNotificationBus.CHANNEL,
+                    "{\"origin\":\"other-replica\",\"kind\":\"ORGANIZATION\",\"ids\":[42]}");
+            return organizationCatalog.version() > before;
+        });
+    }
+
+    @Test
+    void aFailingListenerDoesNotStopLaterNotifications() {
+        await().atMost(TIMEOUT).pollInterval(Duration.ofMillis(200)).until(() -> {
+            notifyAsOtherReplica(FAILING_ID);
+            return remoteEventRecorder.received.contains(List.of(FAILING_ID));
+        });
+
+        notifyAsOtherReplica(77);
+        await().atMost(TIMEOUT).until(() -> remoteEventRecorder.received.contains(List.of(77)));
+    }
+
+    @Test
+    void reconnectResyncsEverything() {
+        await().atMost(TIMEOUT).until(() -> listenerBackends() > 0);
+        long before = organizationCatalog.version();
+
+        jdbcTemplate.queryForList("SELECT pg_terminate_backend(pid) FROM pg_stat_activity WHERE application_name = ?",
+                CatalogNotificationBus.APPLICATION_NAME);
+
+        await().atMost(TIMEOUT).until(() -> organizationCatalog.version() > before);
+        await().atMost(TIMEOUT).until(() -> listenerBackends() > 0);
+    }
+
+    private void notifyAsOtherReplica(int id) {
+        jdbcTemplate.query("SELECT pg_notify(?, ?)", rs -> { }, CatalogNotificationBus.CHANNEL,
+                "{\"origin\":\"other-replica\",\"kind\":\"ORGANIZATION\",\"ids\":[" + id + "]}");
+    }
+
+    private int listenerBackends() {
+        Integer count = jdbcTemplate.queryForObject(
+                "SELECT count(*) FROM pg_stat_activity WHERE application_name = ?", Integer.class,
+                CatalogNotificationBus.APPLICATION_NAME);
+        return count == null ? 0 : count;
+    }
+
+    private Connection connect() throws Exception {
+        return DriverManager.getConnection(dataSourceProperties.determineUrl(),
+                dataSourceProperties.determineUsername(), dataSourceProperties.determinePassword());
+    }
+}
@@ -0,0 +1,131 @@
+package org.dlsulscs.arw.catalog.service;
+
+import jakarta.persistence.EntityManager;
+import org.dlsulscs.arw.catalog.event.CatalogChangedEvent;
+import org.dlsulscs.arw.catalog.model.CatalogEntry;
+import org.dlsulscs.arw.cluster.model.Cluster;
+import org.dlsulscs.arw.organization.model.Organization;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfEnvironmentVariable;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Checks that the in-memory shuffle lists organizations in exactly the order
+ * the listing's former SQL produced, so seeds stored by clients keep their
+ * order.
+ *
+ * <p>
+ * Only runs when {@code SPRING_DATASOURCE_URL} points at a database. The
+ * seeded organizations are rolled back after each test.
+ * </p>
+ */
+@SpringBootTest
+@Transactional
+@EnabledIfEnvironmentVariable(named = "SPRING_DATASOURCE_URL", matches = ".+")
+class OrganizationCatalogOrderTest {
+
+    private static final int ORG_COUNT = 60;
+    private static final List<String> SEEDS = List.of("a1b2c3d4", "seed", "", "ñandú-🙂", "0");
+
+    // The queries the listing ran before it was served from the catalog.
+    private static final String SQL_ORDER = "SELECT id FROM orgs ORDER BY md5(id::text || :seed)";
+    private static final String SQL_ORDER_BY_CLUSTER = "SELECT o.id FROM orgs o JOIN clusters c ON o.cluster_id = c.id"
+            + " WHERE lower(c.name) = lower(:clusterName) ORDER BY md5(o.id::text || :seed)";
+    private static final String SQL_ORDER_PRIORITIZED = "SELECT id FROM orgs ORDER BY"
+            + " CASE WHEN lower(short_name) IN (:prioritized) THEN 0 ELSE 1 END, md5(id::text || :seed)";
+    private static final String SQL_ORDER_BY_CLUSTER_PRIORITIZED = "SELECT o.id FROM orgs o"
+            + " JOIN clusters c ON o.cluster_id = c.id WHERE lower(c.name) = lower(:clusterName)"
+            + " ORDER BY CASE WHEN lower(o.short_name) IN (:prioritized) THEN 0 ELSE 1 END,"
+            + " md5(o.id::text || :seed)";
+
+    @Autowired
+    private OrganizationCatalog organizationCatalog;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private NamedParameterJdbcTemplate jdbcTemplate;
+
+    @BeforeEach
+    void seedCatalog() {
+        Cluster first = new Cluster(null, "ORDER-CLUSTER-A", "Order cluster A");
+        Cluster second = new Cluster(null, "Order-Cluster-B", "Order cluster B");
+        entityManager.persist(first);
+        entityManager.persist(second);
+        for (int i = 0; i < ORG_COUNT; i++) {
+            Organization org = new Organization();
+            org.setName("Order Org " + i);
+            org.setShortName(i % 3 == 0 ? "Ord" + i : "ORD" + i);
+            org.setCluster(i % 2 == 0 ? first : second);
+            entityManager.persist(org);
+        }
+        entityManager.flush();
+        entityManager.clear();
+
+        // Events are only delivered on commit, which never happens here.
+        organizationCatalog.onCatalogChanged(CatalogChangedEvent.all(CatalogChangedEvent.Kind.ORGANIZATION));
+    }
+
+    @Test
+    void shuffleMatchesTheSqlOrder() {
+        for (String seed : SEEDS) {
+            assertThat(ids(organizationCatalog.shuffled(null, seed, Set.of())))
+                    .as("seed %s", seed)
+                    .isEqualTo(sqlIds(SQL_ORDER, seed, null, null));
+        }
+    }
+
+    @Test
+    void clusterShuffleMatchesTheSqlOrder() {
+        for (String seed : SEEDS) {
+            assertThat(ids(organizationCatalog.shuffled("order-cluster-b", seed, Set.of())))
+                    .as("seed %s", seed)
+                    .isEqualTo(sqlIds(SQL_ORDER_BY_CLUSTER, seed, "order-cluster-b", null))
+                    .hasSize(ORG_COUNT / 2);
+        }
+    }
+
+    @Test
+    void prioritizedShuffleMatchesTheSqlOrder() {
+        List<String> prioritized = List.of("ORD1", "ord3", "Ord6", "ord59", "missing");
+        for (String seed : SEEDS) {
+            assertThat(ids(organizationCatalog.shuffled(null, seed, lowercased(prioritized))))
+                    .as("seed %s", seed)
+                    .isEqualTo(sqlIds(SQL_ORDER_PRIORITIZED, seed, null, lowercased(prioritized)));
+            assertThat(ids(organizationCatalog.shuffled("ORDER-CLUSTER-A", seed, lowercased(prioritized))))
+                    .as("seed %s", seed)
+                    .isEqualTo(sqlIds(SQL_ORDER_BY_CLUSTER_PRIORITIZED, seed, "ORDER-CLUSTER-A",
+                            lowercased(prioritized)));
+        }
+    }
+
+    private List<Integer> sqlIds(String sql, String seed, String clusterName, Set<String> prioritized) {
+        MapSqlParameterSource params = new MapSqlParameterSource("seed", seed)
+                .addValue("clusterName", clusterName)
+                .addValue("prioritized", prioritized);
+        return jdbcTemplate.queryForList(sql, params, Integer.class);
+    }
+
+    private static Set<String> lowercased(List<String> shortNames) {
+        return shortNames.stream()
+                .map(shortName -> shortName.toLowerCase(Locale.ROOT))
+                .collect(Collectors.toUnmodifiableSet());
+    }
+
+    private static List<Integer> ids(List<CatalogEntry> entries) {
+        return entries.stream().map(CatalogEntry::id).toList();
+    }
+}
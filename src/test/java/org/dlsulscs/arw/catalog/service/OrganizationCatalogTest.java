@@ -0,0 +1,26 @@
+package org.dlsulscs.arw.catalog.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.dlsulscs.arw.catalog.event.CatalogChangedEvent;
+import org.dlsulscs.arw.organization.repository.OrganizationRepository;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+
+class OrganizationCatalogTest {
+
+    @Test
+    void validatorsDifferBetweenProcessesAtTheSameVersion() {
+        OrganizationCatalog first = new OrganizationCatalog(mock(OrganizationRepository.class), new ObjectMapper());
+        OrganizationCatalog restarted = new OrganizationCatalog(mock(OrganizationRepository.class), new ObjectMapper());
+        String before = first.validator();
+
+        first.onCatalogChanged(CatalogChangedEvent.of(CatalogChangedEvent.Kind.ORGANIZATION, 1));
+
+        assertThat(first.version()).isEqualTo(2);
+        assertThat(first.validator()).isNotEqualTo(before).endsWith("-2");
+        assertThat(restarted.version()).isEqualTo(1);
+        assertThat(restarted.validator()).isNotEqualTo(before);
+    }
+}
@@ -0,0 +1,134 @@
+package org.dlsulscs.arw.common.spreadsheet;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.StringReader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipOutputStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class SpreadsheetReaderTest {
+
+    @Test
+    void csvHandlesQuotesEmbeddedLineBreaksAndCrlf() throws Exception {
+        String csv = "\uFEFFshort_name,about,fee\r\n"
+                + "LSCS,\"Computer, Science\",150\r\n"
+                + "POLISCY,\"Says \"\"hi\"\"\nand more\",\r\n"
+                + "\n"
+                + "LAST,x";
+
+        List<SpreadsheetRow> rows = readAll(new CsvSpreadsheetReader(new StringReader(csv)));
+
+        assertThat(rows).hasSize(5);
+        assertThat(rows.get(0).cells()).containsExactly("short_name", "about", "fee");
+        assertThat(rows.get(1).cells()).containsExactly("LSCS", "Computer, Science", "150");
+        assertThat(rows.get(2).cell(1)).isEqualTo("Says \"hi\"\nand more");
+        assertThat(rows.get(2).cell(2)).isNull();
+        assertThat(rows.get(3).isBlank()).isTrue();
+        assertThat(rows.get(4).number()).isEqualTo(5);
+        assertThat(rows.get(4).cells()).containsExactly("LAST", "x");
+    }
+
+    @Test
+    void csvRejectsAnUnterminatedQuote() {
+        assertThatThrownBy(() -> readAll(new CsvSpreadsheetReader(new StringReader("a,\"b\n"))))
+                .hasMessageContaining("Unterminated");
+    }
+
+    @Test
+    void xlsxStreamsSharedStringsAndSparseCells() throws Exception {
+        List<SpreadsheetRow> rows = readAll(
+                new XlsxSpreadsheetReader(Path.of("[LSCS] ARW 25 Backend Spreadsheet.xlsx")));
+
+        assertThat(rows).isNotEmpty();
+        SpreadsheetRow title = rows.get(0);
+        assertThat(title.number()).isEqualTo(1);
+        assertThat(title.cell(0)).isNull();
+        assertThat(title.cell(1)).isEqualTo("TABLE NAME");
+        assertThat(title.cell(2)).isEqualTo("orgs");
+        assertThat(rows.get(2).cell(1)).isEqualTo("id");
+        assertThat(rows.get(2).cell(7)).isEqualTo("DEFAULT NOT NULL");
+    }
+
+    @Test
+    void columnIndexDecodesCellReferences() throws Exception {
+        assertThat(XlsxSpreadsheetReader.columnIndex("A1")).isZero();
+        assertThat(XlsxSpreadsheetReader.columnIndex("Z9")).isEqualTo(25);
+        assertThat(XlsxSpreadsheetReader.columnIndex("AB12")).isEqualTo(27);
+    }
+
+    @Test
+    void columnIndexRejectsReferencesOutsideTheSheet() throws Exception {
+        assertThat(XlsxSpreadsheetReader.columnIndex("XFD1")).isEqualTo(XlsxSpreadsheetReader.MAX_COLUMNS - 1);
+        assertThatThrownBy(() -> XlsxSpreadsheetReader.columnIndex("XFE1")).isInstanceOf(IOException.class);
+        assertThatThrownBy(() -> XlsxSpreadsheetReader.columnIndex("ZZZZZZ1")).isInstanceOf(IOException.class);
+        assertThatThrownBy(() -> XlsxSpreadsheetReader.columnIndex("ZZZZZZZZZZZZZZ1"))
+                .isInstanceOf(IOException.class);
+        assertThatThrownBy(() -> XlsxSpreadsheetReader.columnIndex("12")).isInstanceOf(IOException.class);
+    }
+
+    @Test
+    void xlsxRejectsHostileCellsAsIoErrors(@TempDir Path dir) throws Exception {
+        assertUnreadable(dir, "<row r=\"1\"><c r=\"ZZZZZZ1\"><v>1</v></c></row>");
+        assertUnreadable(dir, "<row r=\"1\"><c r=\"1\"><v>1</v></c></row>");
+        assertUnreadable(dir, "<row r=\"x\"><c r=\"A1\"><v>1</v></c></row>");
+        assertUnreadable(dir, "<row r=\"1\"><c r=\"A1\" t=\"s\"><v>7</v></c></row>");
+        assertUnreadable(dir, "<row r=\"1\"><c r=\"A1\" t=\"s\"><v>-1</v></c></row>");
+        assertUnreadable(dir, "<row r=\"1\"><c r=\"A1\" t=\"s\"><v>one</v></c></row>");
+    }
+
+    @Test
+    void xlsxReadsAWorkbookAtTheLastColumn(@TempDir Path dir) throws Exception {
+        List<SpreadsheetRow> rows = readAll(new XlsxSpreadsheetReader(
+                workbook(dir, "<row r=\"1\"><c r=\"XFD1\" t=\"s\"><v>0</v></c></row>")));
+
+        assertThat(rows).hasSize(1);
+        assertThat(rows.get(0).cell(XlsxSpreadsheetReader.MAX_COLUMNS - 1)).isEqualTo("only");
+    }
+
+    private static void assertUnreadable(Path dir, String rows) {
+        assertThatThrownBy(() -> readAll(new XlsxSpreadsheetReader(workbook(dir, rows))))
+                .isInstanceOf(IOException.class);
+    }
+
+    /**
+     * Writes a minimal workbook whose only sheet holds {@code rows} and whose
+     * shared string table holds the single string "only".
+     */
+    private static Path workbook(Path dir, String rows) throws IOException {
+        Path path = Files.createTempFile(dir, "sheet", ".xlsx");
+        try (OutputStream out = Files.newOutputStream(path); ZipOutputStream zip = new ZipOutputStream(out)) {
+            writeEntry(zip, "xl/workbook.xml", "<workbook><sheets/></workbook>");
+            writeEntry(zip, "xl/sharedStrings.xml", "<sst><si><t>only</t></si></sst>");
+            writeEntry(zip, "xl/worksheets/sheet1.xml", "<worksheet><sheetData>" + rows + "</sheetData></worksheet>");
+        }
+        return path;
+    }
+
+    private static void writeEntry(ZipOutputStream zip, String name, String content) throws IOException {
+        zip.putNextEntry(new ZipEntry(name));
+        zip.write(content.getBytes(StandardCharsets.UTF_8));
+        zip.closeEntry();
+    }
+
+    private static List<SpreadsheetRow> readAll(SpreadsheetReader reader) throws Exception {
+        List<SpreadsheetRow> rows = new ArrayList<>();
+        try (reader) {
+            SpreadsheetRow row;
+            while ((row = reader.nextRow()) != null) {
+                rows.add(row);
+            }
+        }
+        return rows;
+    }
+}
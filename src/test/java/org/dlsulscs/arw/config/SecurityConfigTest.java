@@ -0,0 +1,60 @@
+package org.dlsulscs.arw.config;
+
+import jakarta.servlet.http.Cookie;
+import org.dlsulscs.arw.auth.service.AccessTokenResolver;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfEnvironmentVariable;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Runs requests through the real filter chains to check which routes take the
+ * anonymous public-read path.
+ *
+ * <p>
+ * Only runs when {@code SPRING_DATASOURCE_URL} points at a database.
+ * </p>
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+@EnabledIfEnvironmentVariable(named = "SPRING_DATASOURCE_URL", matches = ".+")
+class SecurityConfigTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Test
+    void publicReadsNeedNoAuthenticationAndIgnoreTokens() throws Exception {
+        mockMvc.perform(get("/api/clusters"))
+                .andExpect(status().isOk())
+                .andExpect(header().doesNotExist("Set-Cookie"));
+        mockMvc.perform(get("/api/orgs/feed"))
+                .andExpect(status().isOk());
+        // A broken token is never even looked at on the public path.
+        mockMvc.perform(get("/api/clusters")
+                .cookie(new Cookie(AccessTokenResolver.ACCESS_TOKEN_COOKIE, "not-a-jwt")))
+                .andExpect(status().isOk());
+    }
+
+    @Test
+    void everythingElseStillNeedsAuthentication() throws Exception {
+        int write = mockMvc.perform(post("/api/clusters")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"name\":\"Anonymous\"}"))
+                .andReturn().getResponse().getStatus();
+        int currentUser = mockMvc.perform(get("/api/users/current"))
+                .andReturn().getResponse().getStatus();
+
+        assertThat(write).isNotEqualTo(200).isNotEqualTo(201);
+        assertThat(currentUser).isNotEqualTo(200);
+    }
+}
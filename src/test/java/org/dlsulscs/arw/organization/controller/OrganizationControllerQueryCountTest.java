@@ -0,0 +1,377 @@
+package org.dlsulscs.arw.organization.controller;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.persistence.EntityManager;
+import org.dlsulscs.arw.catalog.event.CatalogChangedEvent;
+import org.dlsulscs.arw.catalog.service.OrganizationCatalog;
+import org.dlsulscs.arw.cluster.model.Cluster;
+import org.dlsulscs.arw.cluster.service.ClusterRegistry;
+import org.dlsulscs.arw.organization.model.Organization;
+import org.dlsulscs.arw.publication.model.Publications;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfEnvironmentVariable;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.ByteArrayInputStream;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.zip.GZIPInputStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.hamcrest.Matchers.containsString;
+import static org.hamcrest.Matchers.endsWith;
+import static org.hamcrest.Matchers.startsWith;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.patch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Guards the org endpoints against N+1 regressions: each one must issue the
+ * same number of SQL statements no matter how many organizations it returns.
+ *
+ * <p>
+ * Needs a real Postgres, so it only runs when {@code SPRING_DATASOURCE_URL}
+ * points at one. Every test runs in a transaction that is rolled back.
+ * </p>
+ */
+@SpringBootTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+@AutoConfigureMockMvc(addFilters = false)
+@Transactional
+@EnabledIfEnvironmentVariable(named = "SPRING_DATASOURCE_URL", matches = ".+")
+class OrganizationControllerQueryCountTest {
+
+    private static final int ORG_COUNT = 30;
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private OrganizationCatalog organizationCatalog;
+
+    @Autowired
+    private ClusterRegistry clusterRegistry;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    private Statistics statistics;
+
+    @BeforeEach
+    void seedCatalog() {
+        Cluster first = new Cluster(null, "QC-CLUSTER-A", "Query count cluster A");
+        Cluster second = new Cluster(null, "QC-CLUSTER-B", "Query count cluster B");
+        entityManager.persist(first);
+        entityManager.persist(second);
+        for (int i = 0; i < ORG_COUNT; i++) {
+            Organization org = new Organization();
+            org.setName("Query Count Org " + i);
+            org.setShortName("QC" + i);
+            org.setCluster(i % 2 == 0 ? first : second);
+            entityManager.persist(org);
+
+            Publications pubs = new Publications();
+            pubs.setLogo_url("https://example.com/qc" + i + ".png");
+            pubs.setOrganization(org);
+            entityManager.persist(pubs);
+        }
+        entityManager.flush();
+        entityManager.clear();
+
+        // Events are only delivered on commit, which never happens here.
+        organizationCatalog.onCatalogChanged(CatalogChangedEvent.all(CatalogChangedEvent.Kind.ORGANIZATION));
+        // Reloading inside the test transaction also drops clusters left by earlier, rolled back tests.
+        clusterRegistry.load();
+
+        statistics = entityManager.getEntityManagerFactory().unwrap(SessionFactory.class).getStatistics();
+        statistics.setStatisticsEnabled(true);
+        statistics.clear();
+    }
+
+    @Test
+    void listingRebuildsTheSnapshotOnceAndThenServesFromMemory() throws Exception {
+        mockMvc.perform(get("/api/orgs").param("pageSize", "20").param("seed", "qc"))
+                .andExpect(status().isOk());
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+
+        statistics.clear();
+        mockMvc.perform(get("/api/orgs").param("pageSize", "20").param("page", "1").param("seed", "qc"))
+                .andExpect(status().isOk());
+        assertThat(statistics.getPrepareStatementCount()).isZero();
+    }
+
+    @Test
+    void oversizedPagesAreRejectedBeforeTouchingTheCatalog() throws Exception {
+        mockMvc.perform(get("/api/orgs/feed").param("pageSize", "1000000000").param("seed", "qc"))
+                .andExpect(status().isBadRequest());
+        mockMvc.perform(get("/api/orgs/feed").param("pageSize", String.valueOf(Integer.MAX_VALUE)))
+                .andExpect(status().isBadRequest());
+        mockMvc.perform(get("/api/orgs").param("slice", "true").param("pageSize", "1000000000"))
+                .andExpect(status().isBadRequest());
+        mockMvc.perform(get("/api/orgs").param("slice", "true").param("page", "-1"))
+                .andExpect(status().isBadRequest());
+        assertThat(statistics.getPrepareStatementCount()).isZero();
+    }
+
+    @Test
+    void searchRejectsInvalidPagingBeforeQuerying() throws Exception {
+        mockMvc.perform(get("/api/orgs/search").param("q", "Query").param("page", "-1"))
+                .andExpect(status().isBadRequest());
+        mockMvc.perform(get("/api/orgs/search").param("q", "Query").param("pageSize", "0"))
+                .andExpect(status().isBadRequest());
+        mockMvc.perform(get("/api/orgs/search").param("q", "Query").param("slice", "true")
+                .param("pageSize", "1000000000"))
+                .andExpect(status().isBadRequest());
+        mockMvc.perform(get("/api/orgs/search").param("q", "Query").param("slice", "true").param("page", "-1"))
+                .andExpect(status().isBadRequest());
+        assertThat(statistics.getPrepareStatementCount()).isZero();
+    }
+
+    @Test
+    void feedReturnsEveryOrganizationExactlyOnceAcrossPages() throws Exception {
+        List<Integer> expected = entityManager.createQuery(
+                "SELECT o.id FROM Organization o WHERE o.cluster.name = 'QC-CLUSTER-A'", Integer.class)
+                .getResultList();
+        Integer renamedId = expected.get(0);
+
+        List<Integer> seen = new ArrayList<>();
+        JsonNode page = feedPage(null, "QC4,qc10");
+        readIds(page, seen);
+        assertThat(seen.subList(0, 2)).containsExactlyInAnyOrder(idOf("QC4"), idOf("QC10"));
+        int pages = 1;
+        while (page.get("hasNext").asBoolean()) {
+            if (pages == 1) {
+                // A committed write between pages bumps the catalog version.
+                entityManager.find(Organization.class, renamedId).setTagline("changed mid-feed");
+                entityManager.flush();
+                organizationCatalog.onCatalogChanged(CatalogChangedEvent.of(CatalogChangedEvent.Kind.ORGANIZATION,
+                        renamedId));
+            }
+            // Later pages ignore a changed or missing prioritized parameter.
+            page = feedPage(page.get("next").asText(), pages % 2 == 0 ? "QC0" : null);
+            readIds(page, seen);
+            pages++;
+        }
+
+        assertThat(pages).isGreaterThan(2);
+        assertThat(seen).doesNotHaveDuplicates().containsExactlyInAnyOrderElementsOf(expected);
+    }
+
+    private JsonNode feedPage(String cursor, String prioritized) throws Exception {
+        var request = get("/api/orgs/feed").param("pageSize", "4");
+        if (cursor == null) {
+            request.param("seed", "walk").param("cluster", "QC-CLUSTER-A");
+        } else {
+            request.param("cursor", cursor);
+        }
+        if (prioritized != null) {
+            request.param("prioritized", prioritized);
+        }
+        String body = mockMvc.perform(request).andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+        return objectMapper.readTree(body);
+    }
+
+    private static void readIds(JsonNode page, List<Integer> into) {
+        page.get("content").forEach(org -> into.add(org.get("id").asInt()));
+    }
+
+    private Integer idOf(String shortName) {
+        return entityManager.createQuery("SELECT o.id FROM Organization o WHERE o.shortName = :shortName",
+                Integer.class).setParameter("shortName", shortName).getSingleResult();
+    }
+
+    @Test
+    void slicePastTheEndIsEmpty() throws Exception {
+        mockMvc.perform(get("/api/orgs").param("slice", "true").param("seed", "qc")
+                .param("page", String.valueOf(Integer.MAX_VALUE)).param("pageSize", "100"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content").isEmpty())
+                .andExpect(jsonPath("$.hasNext").value(false));
+    }
+
+    @Test
+    void catalogDocumentIsBuiltOnceAndServedPrecompressed() throws Exception {
+        byte[] gzipped = mockMvc.perform(get("/api/orgs/catalog").header("Accept-Encoding", "br, gzip;q=0.8"))
+                .andExpect(status().isOk())
+                .andExpect(header().string("Content-Encoding", "gzip"))
+                .andExpect(header().string("Vary", containsString("Accept-Encoding")))
+                .andExpect(header().string("Cache-Control", containsString("max-age=300")))
+                .andExpect(header().string("ETag", endsWith("-gzip\"")))
+                .andReturn().getResponse().getContentAsByteArray();
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+
+        statistics.clear();
+        MockHttpServletResponse identity = mockMvc.perform(get("/api/orgs/catalog"))
+                .andExpect(status().isOk())
+                .andExpect(header().doesNotExist("Content-Encoding"))
+                .andExpect(jsonPath("$.organizations[?(@.shortName == 'QC7')]").exists())
+                .andReturn().getResponse();
+        byte[] plain = identity.getContentAsByteArray();
+        assertThat(statistics.getPrepareStatementCount()).isZero();
+        assertThat(identity.getHeader("ETag")).doesNotContain("-gzip");
+        mockMvc.perform(get("/api/orgs/catalog").header("Accept-Encoding", "gzip")
+                .header("If-None-Match", identity.getHeader("ETag")))
+                .andExpect(status().isOk());
+        try (GZIPInputStream in = new GZIPInputStream(new ByteArrayInputStream(gzipped))) {
+            assertThat(in.readAllBytes()).isEqualTo(plain);
+        }
+    }
+
+    @Test
+    void onlySuccessfulAndNotModifiedCatalogResponsesCarryValidators() throws Exception {
+        MockHttpServletResponse gzipped = mockMvc.perform(get("/api/orgs/catalog").header("Accept-Encoding", "gzip"))
+                .andExpect(status().isOk())
+                .andReturn().getResponse();
+        assertThat(gzipped.getHeaders("Vary")).containsExactly("Accept-Encoding");
+
+        mockMvc.perform(get("/api/orgs/catalog").header("Accept-Encoding", "gzip")
+                .header("If-None-Match", gzipped.getHeader("ETag")))
+                .andExpect(status().isNotModified())
+                .andExpect(header().string("ETag", gzipped.getHeader("ETag")))
+                .andExpect(header().string("Vary", "Accept-Encoding"))
+                .andExpect(header().string("Cache-Control", containsString("max-age=300")));
+
+        Integer id = entityManager.createQuery("SELECT o.id FROM Organization o WHERE o.shortName = 'QC7'",
+                Integer.class).getSingleResult();
+        String etag = mockMvc.perform(get("/api/orgs/{id}", id))
+                .andExpect(status().isOk())
+                .andExpect(header().string("Cache-Control", "no-cache"))
+                .andReturn().getResponse().getHeader("ETag");
+        assertThat(etag).isNotNull();
+        mockMvc.perform(get("/api/orgs/{id}", id).header("If-None-Match", "W/" + etag))
+                .andExpect(status().isNotModified());
+
+        mockMvc.perform(get("/api/orgs/{id}", Integer.MAX_VALUE))
+                .andExpect(status().isNotFound())
+                .andExpect(header().doesNotExist("ETag"))
+                .andExpect(header().doesNotExist("Cache-Control"));
+    }
+
+    @Test
+    void searchUsesIdsCountAndOneFetchJoin() throws Exception {
+        mockMvc.perform(get("/api/orgs/search").param("q", "query count org").param("pageSize", "20"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content.length()").value(20));
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(3);
+    }
+
+    @Test
+    void searchSliceSkipsTheCountQuery() throws Exception {
+        mockMvc.perform(get("/api/orgs/search").param("q", "query count org").param("pageSize", "20")
+                        .param("slice", "true"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content.length()").value(20))
+                .andExpect(jsonPath("$.hasNext").value(true))
+                .andExpect(jsonPath("$.totalElements").doesNotExist());
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(2);
+    }
+
+    @Test
+    void clusterReadsAndOrgCreateNeverQueryClusters() throws Exception {
+        mockMvc.perform(get("/api/clusters"))
+                .andExpect(status().isOk());
+        mockMvc.perform(get("/api/clusters/name/qc-cluster-a"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.name").value("QC-CLUSTER-A"));
+        assertThat(statistics.getPrepareStatementCount()).isZero();
+
+        mockMvc.perform(post("/api/orgs").contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"name\":\"Single QC\",\"short_name\":\"SQC\",\"cluster_name\":\"qc-cluster-b\"}"))
+                .andExpect(status().isCreated())
+                .andExpect(jsonPath("$.cluster.name").value("QC-CLUSTER-B"));
+        assertThat(statistics.getEntityLoadCount()).isZero();
+        // At most one sequence block and the insert itself.
+        assertThat(statistics.getPrepareStatementCount()).isLessThanOrEqualTo(2);
+    }
+
+    @Test
+    void bulkCreateResolvesClustersOnceAndBatchesInserts() throws Exception {
+        StringBuilder body = new StringBuilder("[");
+        for (int i = 0; i < ORG_COUNT; i++) {
+            if (i > 0) {
+                body.append(',');
+            }
+            body.append("{\"name\":\"Bulk QC ").append(i).append("\",\"short_name\":\"BQC").append(i)
+                    .append("\",\"cluster_name\":\"").append(i % 2 == 0 ? "qc-cluster-a" : "QC-CLUSTER-B")
+                    .append("\"}");
+        }
+        body.append(']');
+
+        mockMvc.perform(post("/api/orgs/bulk").contentType(MediaType.APPLICATION_JSON).content(body.toString()))
+                .andExpect(status().isCreated());
+        assertThat(statistics.getEntityInsertCount()).isEqualTo(ORG_COUNT);
+        // Clusters come from the registry: at most two sequence blocks and one batched insert.
+        assertThat(statistics.getPrepareStatementCount()).isLessThanOrEqualTo(3);
+    }
+
+    @Test
+    void bulkUpdateIsOneUpdateAndOneReadBack() throws Exception {
+        StringBuilder body = new StringBuilder("[");
+        for (int i = 0; i < ORG_COUNT; i++) {
+            body.append("{\"short_name\":\"qc").append(i).append("\",\"fee\":\"").append(100 + i).append("\"},");
+        }
+        body.append("{\"short_name\":\"NOPE\",\"fee\":\"1\"}]");
+
+        mockMvc.perform(patch("/api/orgs/bulk-update").contentType(MediaType.APPLICATION_JSON)
+                        .content(body.toString()))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.updated.length()").value(ORG_COUNT))
+                .andExpect(jsonPath("$.updated[0].fee").value("100"))
+                .andExpect(jsonPath("$.unknownShortNames[0]").value("NOPE"));
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(2);
+    }
+
+    @Test
+    void shortNamesDifferingOnlyInCaseResolveToTheExactMatch() throws Exception {
+        Organization lowercase = new Organization();
+        lowercase.setName("Query Count Org lowercase");
+        lowercase.setShortName("qc7");
+        lowercase.setCluster(entityManager.createQuery("SELECT o.cluster FROM Organization o WHERE o.shortName = 'QC7'",
+                Cluster.class).getSingleResult());
+        entityManager.persist(lowercase);
+        entityManager.flush();
+
+        mockMvc.perform(post("/api/pubs/bulk").contentType(MediaType.APPLICATION_JSON)
+                        .content("[{\"short_name\":\"qc7\",\"main_pub_url\":\"https://example.com/lower\"}]"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(1));
+        assertThat(entityManager.createQuery("SELECT p.main_pub_url FROM Publications p WHERE p.organization.id = :id",
+                String.class).setParameter("id", lowercase.getId()).getSingleResult()).isEqualTo("https://example.com/lower");
+    }
+
+    @Test
+    void bulkPublicationUpsertIsResolveUpsertAndReadBack() throws Exception {
+        StringBuilder body = new StringBuilder("[");
+        for (int i = 0; i < ORG_COUNT; i++) {
+            if (i > 0) {
+                body.append(',');
+            }
+            body.append("{\"short_name\":\"qc").append(i).append("\",\"main_pub_url\":\"https://example.com/m")
+                    .append(i).append("\"}");
+        }
+        body.append(']');
+
+        mockMvc.perform(post("/api/pubs/bulk").contentType(MediaType.APPLICATION_JSON).content(body.toString()))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(ORG_COUNT))
+                // Fields left out of the upload keep their value.
+                .andExpect(jsonPath("$[0].logoUrl").value(startsWith("https://example.com/qc")));
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(3);
+    }
+}
@@ -0,0 +1,131 @@
+package org.dlsulscs.arw.organization.repository;
+
+import jakarta.persistence.EntityManager;
+import org.dlsulscs.arw.cluster.repository.ClusterRepository;
+import org.dlsulscs.arw.publication.repository.PublicationRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfEnvironmentVariable;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+import java.util.Set;
+import java.util.regex.Pattern;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Query-plan regression tests: every case-insensitive repository lookup must
+ * be served by an index on a catalog of realistic size.
+ *
+ * <p>
+ * Each test calls the repository method, takes the first SQL statement
+ * Hibernate sent for it and runs {@code EXPLAIN} on it with the same
+ * arguments. A sequential scan over orgs, clusters or org_pubs fails the test.
+ * </p>
+ *
+ * <p>
+ * Needs a real Postgres, so it only runs when {@code SPRING_DATASOURCE_URL}
+ * points at one. The seeded catalog is rolled back after each test.
+ * </p>
+ */
+@SpringBootTest(properties = "spring.jpa.properties.hibernate.session_factory.statement_inspector="
+        + "org.dlsulscs.arw.organization.repository.RecordingStatementInspector")
+@Transactional
+@EnabledIfEnvironmentVariable(named = "SPRING_DATASOURCE_URL", matches = ".+")
+class RepositoryQueryPlanTest {
+
+    // Far more clusters than the event has: a table that fits in one page is
+    // always scanned sequentially, which would hide a missing index.
+    private static final int CLUSTER_COUNT = 1000;
+    private static final int ORG_COUNT = 5000;
+    private static final Pattern SEQ_SCAN = Pattern.compile("Seq Scan on (orgs|clusters|org_pubs)\\b");
+
+    @Autowired
+    private OrganizationRepository organizationRepository;
+
+    @Autowired
+    private ClusterRepository clusterRepository;
+
+    @Autowired
+    private PublicationRepository publicationRepository;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @BeforeEach
+    void seedCatalog() {
+        jdbcTemplate.update("INSERT INTO clusters (name, description) "
+                + "SELECT 'PLAN-CLUSTER-' || g, 'Query plan cluster' FROM generate_series(1, ?) g", CLUSTER_COUNT);
+        jdbcTemplate.update("INSERT INTO orgs (name, short_name, about, cluster_id) "
+                + "SELECT 'Plan Org ' || g, 'PLAN' || g, 'Seeded for query plan tests', c.id "
+                + "FROM generate_series(1, ?) g JOIN clusters c ON c.name = 'PLAN-CLUSTER-' || (g % ? + 1)",
+                ORG_COUNT, CLUSTER_COUNT);
+        jdbcTemplate.update("INSERT INTO org_pubs (org_id, logo_url) "
+                + "SELECT id, 'https://example.com/' || id || '.png' FROM orgs WHERE short_name LIKE 'PLAN%'");
+        // The planner needs statistics to see that the tables are no longer tiny.
+        jdbcTemplate.execute("ANALYZE orgs");
+        jdbcTemplate.execute("ANALYZE clusters");
+        jdbcTemplate.execute("ANALYZE org_pubs");
+        entityManager.clear();
+        RecordingStatementInspector.clear();
+    }
+
+    @Test
+    void organizationFindByNameUsesAnIndex() {
+        organizationRepository.findByName("plan org 1234");
+        assertIndexed("plan org 1234");
+    }
+
+    @Test
+    void organizationFindByShortNameUsesAnIndex() {
+        organizationRepository.findByShortName("plan1234");
+        assertIndexed("plan1234");
+    }
+
+    @Test
+    void organizationsByShortNamesUseAnIndex() {
+        organizationRepository.findAllWithClusterAndPublicationsByShortNameIn(Set.of("plan1234"));
+        assertIndexed("plan1234");
+    }
+
+    @Test
+    void organizationsByClusterNameUseIndexes() {
+        organizationRepository.findAllByClusterName("plan-cluster-7", PageRequest.of(0, 10));
+        assertIndexed("plan-cluster-7", 10);
+    }
+
+    @Test
+    void clusterFindByNameUsesAnIndex() {
+        clusterRepository.findByName("plan-cluster-7");
+        assertIndexed("plan-cluster-7");
+    }
+
+    @Test
+    void publicationsByOrgNameUseIndexes() {
+        publicationRepository.findPubsByOrgName("plan org 1234");
+        assertIndexed("plan org 1234");
+    }
+
+    /**
+     * Explains the first statement recorded since the last clear, binding
+     * {@code args} to its placeholders in order.
+     */
+    private void assertIndexed(Object... args) {
+        List<String> statements = RecordingStatementInspector.statements();
+        assertThat(statements).isNotEmpty();
+        String sql = statements.get(0);
+        List<String> plan = jdbcTemplate.queryForList("EXPLAIN " + sql, String.class, args);
+        String text = String.join("\n", plan);
+        assertThat(SEQ_SCAN.matcher(text).find())
+                .as("Sequential scan in plan of%n%s%n%s", sql, text)
+                .isFalse();
+    }
+}
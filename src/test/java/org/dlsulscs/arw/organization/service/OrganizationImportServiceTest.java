@@ -0,0 +1,188 @@
+package org.dlsulscs.arw.organization.service;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.dlsulscs.arw.organization.dto.OrganizationImportLine;
+import org.dlsulscs.arw.common.exception.BadRequestException;
+import org.dlsulscs.arw.organization.dto.OrganizationImportResultDto;
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.DataIntegrityViolationException;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.StringReader;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class OrganizationImportServiceTest {
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final OrganizationService organizationService = mock(OrganizationService.class);
+    private final OrganizationImportService importService =
+            new OrganizationImportService(organizationService, objectMapper);
+
+    @Test
+    void writesOneResultPerLineInInputOrder() throws Exception {
+        when(organizationService.importChunk(anyList())).thenAnswer(invocation -> {
+            List<OrganizationImportLine> lines = invocation.getArgument(0);
+            return lines.stream()
+                    .map(line -> new OrganizationImportResultDto(line.line(),
+                            OrganizationImportResultDto.Status.CREATED, line.line() * 10,
+                            line.organization().shortName(), null))
+                    .toList();
+        });
+
+        List<JsonNode> results = run("""
+                {"short_name":"A","name":"Alpha","cluster_name":"ENG"}
+                {not json
+
+                {"short_name":"B","name":"Beta","cluster_name":"ENG"}
+                """);
+
+        assertThat(results).hasSize(3);
+        assertThat(results.get(0).get("line").asInt()).isEqualTo(1);
+        assertThat(results.get(0).get("status").asText()).isEqualTo("created");
+        assertThat(results.get(0).get("id").asInt()).isEqualTo(10);
+        assertThat(results.get(1).get("line").asInt()).isEqualTo(2);
+        assertThat(results.get(1).get("status").asText()).isEqualTo("error");
+        assertThat(results.get(2).get("line").asInt()).isEqualTo(4);
+        assertThat(results.get(2).get("shortName").asText()).isEqualTo("B");
+    }
+
+    @Test
+    void commitsInFixedSizeChunks() throws Exception {
+        when(organizationService.importChunk(anyList())).thenAnswer(invocation -> {
+            List<OrganizationImportLine> lines = invocation.getArgument(0);
+            assertThat(lines.size()).isLessThanOrEqualTo(OrganizationImportService.CHUNK_SIZE);
+            return lines.stream()
+                    .map(line -> new OrganizationImportResultDto(line.line(),
+                            OrganizationImportResultDto.Status.UPDATED, line.line(), null, null))
+                    .toList();
+        });
+
+        StringBuilder body = new StringBuilder();
+        int count = OrganizationImportService.CHUNK_SIZE * 2 + 1;
+        for (int i = 0; i < count; i++) {
+            body.append("{\"short_name\":\"S").append(i).append("\"}\n");
+        }
+
+        assertThat(run(body.toString())).hasSize(count);
+        verify(organizationService, times(3)).importChunk(anyList());
+    }
+
+    @Test
+    void streamsResultsOfFailedLinesWithoutWaitingForValidRecords() throws Exception {
+        StringBuilder body = new StringBuilder();
+        int count = OrganizationImportService.CHUNK_SIZE * 2 + 1;
+        for (int i = 0; i < count; i++) {
+            body.append("{not json\n");
+        }
+        List<Integer> writtenAtFlush = new ArrayList<>();
+        ByteArrayOutputStream out = new ByteArrayOutputStream() {
+            @Override
+            public void flush() {
+                writtenAtFlush.add(size());
+            }
+        };
+
+        importService.importNdjson(new ByteArrayInputStream(body.toString().getBytes(StandardCharsets.UTF_8)), out);
+
+        assertThat(writtenAtFlush).hasSize(3);
+        assertThat(writtenAtFlush.get(0)).isPositive();
+        assertThat(out.toString(StandardCharsets.UTF_8).split("\n")).hasSize(count);
+        verify(organizationService, times(0)).importChunk(anyList());
+    }
+
+    @Test
+    void reportsEveryLineOfARolledBackChunkAsFailed() throws Exception {
+        when(organizationService.importChunk(anyList()))
+                .thenThrow(new DataIntegrityViolationException("duplicate key"));
+
+        List<JsonNode> results = run("""
+                {"short_name":"A"}
+                {"short_name":"B"}
+                """);
+
+        assertThat(results).hasSize(2);
+        assertThat(results).allSatisfy(result -> assertThat(result.get("status").asText()).isEqualTo("error"));
+    }
+
+    @Test
+    void reportsAChunkRejectedByValidationAsFailedAndCarriesOn() throws Exception {
+        when(organizationService.importChunk(anyList()))
+                .thenThrow(new BadRequestException("Cluster not found: NOPE"))
+                .thenAnswer(invocation -> {
+                    List<OrganizationImportLine> lines = invocation.getArgument(0);
+                    return lines.stream()
+                            .map(line -> new OrganizationImportResultDto(line.line(),
+                                    OrganizationImportResultDto.Status.CREATED, line.line(), null, null))
+                            .toList();
+                });
+        StringBuilder body = new StringBuilder();
+        int count = OrganizationImportService.CHUNK_SIZE + 1;
+        for (int i = 0; i < count; i++) {
+            body.append("{\"short_name\":\"S").append(i).append("\"}\n");
+        }
+
+        List<JsonNode> results = run(body.toString());
+
+        assertThat(results).hasSize(count);
+        assertThat(results.get(0).get("status").asText()).isEqualTo("error");
+        assertThat(results.get(0).get("error").asText()).contains("Cluster not found");
+        assertThat(results.get(count - 1).get("status").asText()).isEqualTo("created");
+    }
+
+    @Test
+    void reportsAnOverlongLineAsFailedWithoutBufferingIt() throws Exception {
+        when(organizationService.importChunk(anyList())).thenAnswer(invocation -> {
+            List<OrganizationImportLine> lines = invocation.getArgument(0);
+            return lines.stream()
+                    .map(line -> new OrganizationImportResultDto(line.line(),
+                            OrganizationImportResultDto.Status.CREATED, line.line(), null, null))
+                    .toList();
+        });
+        String overlong = "{\"short_name\":\"" + "x".repeat(OrganizationImportService.MAX_LINE_LENGTH) + "\"}";
+
+        List<JsonNode> results = run(overlong + "\n{\"short_name\":\"B\"}\n");
+
+        assertThat(results).hasSize(2);
+        assertThat(results.get(0).get("line").asInt()).isEqualTo(1);
+        assertThat(results.get(0).get("status").asText()).isEqualTo("error");
+        assertThat(results.get(0).get("error").asText()).contains("longer than");
+        assertThat(results.get(1).get("line").asInt()).isEqualTo(2);
+        assertThat(results.get(1).get("status").asText()).isEqualTo("created");
+    }
+
+    @Test
+    void boundedLineReaderSplitsLinesLikeReadLine() throws Exception {
+        OrganizationImportService.BoundedLineReader reader = new OrganizationImportService.BoundedLineReader(
+                new StringReader("abc\r\n\n12345\nlast"), 4);
+
+        assertThat(reader.readLine()).isEqualTo("abc");
+        assertThat(reader.readLine()).isEmpty();
+        assertThat(reader.truncated()).isFalse();
+        reader.readLine();
+        assertThat(reader.truncated()).isTrue();
+        assertThat(reader.readLine()).isEqualTo("last");
+        assertThat(reader.truncated()).isFalse();
+        assertThat(reader.readLine()).isNull();
+    }
+
+    private List<JsonNode> run(String ndjson) throws Exception {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        importService.importNdjson(new ByteArrayInputStream(ndjson.getBytes(StandardCharsets.UTF_8)), out);
+        List<JsonNode> results = new ArrayList<>();
+        for (String line : out.toString(StandardCharsets.UTF_8).split("\n")) {
+            results.add(objectMapper.readTree(line));
+        }
+        return results;
+    }
+}
@@ -0,0 +1,115 @@
+package org.dlsulscs.arw.organization.service;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.dlsulscs.arw.catalog.event.CatalogChangedEvent;
+import org.dlsulscs.arw.cluster.model.Cluster;
+import org.dlsulscs.arw.organization.model.Organization;
+import org.dlsulscs.arw.organization.repository.OrganizationRepository;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class OrganizationLookupCacheTest {
+
+    private final OrganizationRepository organizationRepository = mock(OrganizationRepository.class);
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final OrganizationLookupCache cache =
+            new OrganizationLookupCache(organizationRepository, meterRegistry, 100, Duration.ofMinutes(5));
+
+    @Test
+    void allThreeKeysShareOneEntryAndReturnCopies() {
+        Organization org = organization(7, "Computer Society", "COMSOC");
+        when(organizationRepository.findByShortName("comsoc")).thenReturn(Optional.of(org));
+
+        Organization loaded = cache.findByShortName("comsoc").orElseThrow();
+        Organization byId = cache.findById(7).orElseThrow();
+        Organization byName = cache.findByName("COMPUTER SOCIETY").orElseThrow();
+        Organization byShortName = cache.findByShortName("ComSoc").orElseThrow();
+
+        assertThat(loaded).isNotSameAs(org);
+        assertThat(byId).isNotSameAs(org).isNotSameAs(byName);
+        assertThat(byId.getCluster()).isNotSameAs(org.getCluster());
+        assertThat(byName.getShortName()).isEqualTo("COMSOC");
+        assertThat(byShortName.getCluster().getName()).isEqualTo("CSO");
+        verify(organizationRepository, times(1)).findByShortName("comsoc");
+        verify(organizationRepository, times(0)).findById(7);
+        verify(organizationRepository, times(0)).findByName("COMPUTER SOCIETY");
+
+        byId.setFee("changed");
+        assertThat(cache.findById(7).orElseThrow().getFee()).isNull();
+        assertThat(meterRegistry.get("cache.gets").tag("cache", "orgs.by-id").tag("result", "hit")
+                .functionCounter().count()).isEqualTo(4);
+    }
+
+    @Test
+    void changesToAMissResultReachNeitherTheLoadedEntityNorTheCache() {
+        Organization managed = organization(7, "Computer Society", "COMSOC");
+        when(organizationRepository.findById(7)).thenReturn(Optional.of(managed));
+
+        Organization miss = cache.findById(7).orElseThrow();
+        miss.setFee("changed");
+        miss.getCluster().setName("changed");
+
+        assertThat(managed.getFee()).isNull();
+        assertThat(managed.getCluster().getName()).isEqualTo("CSO");
+        Organization hit = cache.findById(7).orElseThrow();
+        assertThat(hit.getFee()).isNull();
+        assertThat(hit.getCluster().getName()).isEqualTo("CSO");
+        verify(organizationRepository, times(1)).findById(7);
+    }
+
+    @Test
+    void changeEventEvictsTheOrganizationAndItsNames() {
+        when(organizationRepository.findById(7)).thenReturn(Optional.of(organization(7, "Old Name", "OLD")));
+        cache.findById(7);
+
+        cache.onCatalogChanged(CatalogChangedEvent.of(CatalogChangedEvent.Kind.ORGANIZATION, 7));
+
+        when(organizationRepository.findById(7)).thenReturn(Optional.of(organization(7, "New Name", "NEW")));
+        when(organizationRepository.findByName("Old Name")).thenReturn(Optional.empty());
+        assertThat(cache.findByName("Old Name")).isEmpty();
+        assertThat(cache.findById(7).orElseThrow().getName()).isEqualTo("New Name");
+        verify(organizationRepository, times(2)).findById(7);
+    }
+
+    @Test
+    void clusterChangeClearsEverything() {
+        when(organizationRepository.findById(7)).thenReturn(Optional.of(organization(7, "Org", "ORG")));
+        cache.findById(7);
+
+        cache.onCatalogChanged(CatalogChangedEvent.of(CatalogChangedEvent.Kind.CLUSTER, 1));
+        cache.findById(7);
+
+        verify(organizationRepository, times(2)).findById(7);
+    }
+
+    @Test
+    void loadOverlappingAnInvalidationIsNotCached() {
+        when(organizationRepository.findById(7)).thenAnswer(invocation -> {
+            // A write to this organization commits while the stale row is being read.
+            cache.onCatalogChanged(CatalogChangedEvent.of(CatalogChangedEvent.Kind.ORGANIZATION, 7));
+            return Optional.of(organization(7, "Stale", "STALE"));
+        });
+
+        cache.findById(7);
+        cache.findById(7);
+
+        verify(organizationRepository, times(2)).findById(7);
+    }
+
+    private static Organization organization(int id, String name, String shortName) {
+        Organization org = new Organization();
+        org.setId(id);
+        org.setName(name);
+        org.setShortName(shortName);
+        org.setCluster(new Cluster(1, "CSO", null));
+        return org;
+    }
+}
@@ -0,0 +1,131 @@
+package org.dlsulscs.arw.organization.service;
+
+import org.dlsulscs.arw.catalog.event.CatalogChangedEvent;
+import org.dlsulscs.arw.catalog.service.OrganizationCatalog;
+import org.dlsulscs.arw.cluster.model.Cluster;
+import org.dlsulscs.arw.cluster.service.ClusterService;
+import org.dlsulscs.arw.organization.dto.OrganizationSuggestionDto;
+import org.dlsulscs.arw.organization.model.Organization;
+import org.dlsulscs.arw.organization.repository.OrganizationRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.context.ApplicationEventPublisher;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class OrganizationSuggestIndexTest {
+
+    private final OrganizationRepository organizationRepository = mock(OrganizationRepository.class);
+    private final OrganizationSuggestIndex index = new OrganizationSuggestIndex(organizationRepository);
+
+    @Test
+    void matchesPrefixesOfNamesLaterWordsShortNamesAndClusters() {
+        load(organization(1, "DLSU Computer Society", "COMSOC", "ENGAGE"),
+                organization(2, "Chemistry Society", "CHEMSOC", "ASO"),
+                organization(3, "Math Circle", "MC", "Computing Cluster"));
+
+        assertThat(ids(index.suggest("dlsu c", 10))).containsExactly(1);
+        assertThat(ids(index.suggest("  COMP", 10))).containsExactly(1, 3);
+        assertThat(ids(index.suggest("chem", 10))).containsExactly(2);
+        assertThat(ids(index.suggest("society", 10))).containsExactlyInAnyOrder(1, 2);
+        assertThat(index.suggest("xyz", 10)).isEmpty();
+        assertThat(index.suggest(" ", 10)).isEmpty();
+    }
+
+    @Test
+    void ranksNamesAndShortNamesBeforeLaterWordsAndClusters() {
+        load(organization(1, "Art Society", "ARTSOC", "ENGAGE"),
+                organization(2, "Society of Painters", "SOP", "ART CLUSTER"),
+                organization(3, "Young Artists", "YA", "ASO"),
+                organization(4, "ART", "ART", "ASO"));
+
+        // Shorter terms first within a rank, then later words, then clusters.
+        assertThat(ids(index.suggest("art", 10))).containsExactly(4, 1, 3, 2);
+    }
+
+    @Test
+    void returnsEachOrganizationOnceAndHonoursTheLimit() {
+        List<Organization> orgs = new ArrayList<>();
+        for (int i = 1; i <= 60; i++) {
+            orgs.add(organization(i, "Society " + i, "SOC" + i, "Society Cluster"));
+        }
+        load(orgs.toArray(Organization[]::new));
+
+        assertThat(index.suggest("soc", 100)).hasSize(60).doesNotHaveDuplicates();
+        assertThat(index.suggest("soc", 5)).hasSize(5);
+        assertThat(index.suggest("soc", 0)).isEmpty();
+
+        OrganizationService organizationService = new OrganizationService(organizationRepository,
+                mock(ClusterService.class), mock(OrganizationCatalog.class), index,
+                mock(OrganizationLookupCache.class), mock(ApplicationEventPublisher.class));
+        assertThat(organizationService.suggestOrganizations("soc", 1000)).hasSize(50);
+    }
+
+    @Test
+    void organizationEventsUpdateOnlyTheNamedOrganizations() {
+        load(organization(1, "Old Name", "OLD", "ENGAGE"),
+                organization(2, "Doomed Society", "DOOMED", "ENGAGE"),
+                organization(3, "Steady Society", "STEADY", "ENGAGE"));
+
+        when(organizationRepository.findAllWithClusterByIdIn(List.of(1, 2, 4)))
+                .thenReturn(List.of(organization(1, "New Name", "NEW", "ENGAGE"),
+                        organization(4, "Fresh Society", "FRESH", "ENGAGE")));
+        index.onCatalogChanged(CatalogChangedEvent.of(CatalogChangedEvent.Kind.ORGANIZATION, List.of(1, 2, 4)));
+
+        assertThat(index.suggest("old", 10)).isEmpty();
+        assertThat(index.suggest("new", 10)).extracting(OrganizationSuggestionDto::name).containsExactly("New Name");
+        assertThat(index.suggest("doomed", 10)).isEmpty();
+        assertThat(ids(index.suggest("fresh", 10))).containsExactly(4);
+        assertThat(ids(index.suggest("steady", 10))).containsExactly(3);
+        verify(organizationRepository, times(1)).findAllWithCluster();
+    }
+
+    @Test
+    void clusterEventsRebuildTheWholeIndex() {
+        load(organization(1, "Art Society", "ARTSOC", "ENGAGE"));
+
+        when(organizationRepository.findAllWithCluster())
+                .thenReturn(List.of(organization(1, "Art Society", "ARTSOC", "RENAMED")));
+        index.onCatalogChanged(CatalogChangedEvent.of(CatalogChangedEvent.Kind.CLUSTER, 9));
+
+        assertThat(index.suggest("engage", 10)).isEmpty();
+        assertThat(index.suggest("renamed", 10)).extracting(OrganizationSuggestionDto::clusterName)
+                .containsExactly("RENAMED");
+        verify(organizationRepository, times(0)).findAllWithClusterByIdIn(anyList());
+    }
+
+    @Test
+    void publicationEventsLeaveTheIndexAlone() {
+        load(organization(1, "Art Society", "ARTSOC", "ENGAGE"));
+
+        index.onCatalogChanged(CatalogChangedEvent.of(CatalogChangedEvent.Kind.PUBLICATION, 1));
+
+        verify(organizationRepository, times(1)).findAllWithCluster();
+        verify(organizationRepository, times(0)).findAllWithClusterByIdIn(anyList());
+    }
+
+    private void load(Organization... orgs) {
+        when(organizationRepository.findAllWithCluster()).thenReturn(List.of(orgs));
+        index.load();
+    }
+
+    private static List<Integer> ids(List<OrganizationSuggestionDto> suggestions) {
+        return suggestions.stream().map(OrganizationSuggestionDto::id).toList();
+    }
+
+    private static Organization organization(int id, String name, String shortName, String clusterName) {
+        Organization org = new Organization();
+        org.setId(id);
+        org.setName(name);
+        org.setShortName(shortName);
+        org.setCluster(new Cluster(id * 100, clusterName, null));
+        return org;
+    }
+}
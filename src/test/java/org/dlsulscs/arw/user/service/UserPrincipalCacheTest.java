@@ -0,0 +1,51 @@
+package org.dlsulscs.arw.user.service;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.dlsulscs.arw.user.model.User;
+import org.dlsulscs.arw.user.repository.UserRepository;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class UserPrincipalCacheTest {
+
+    private final UserRepository userRepository = mock(UserRepository.class);
+    private final UserPrincipalCache cache =
+            new UserPrincipalCache(userRepository, new SimpleMeterRegistry(), 100, Duration.ofMinutes(1));
+
+    @Test
+    void repeatLookupsHitTheCacheAndReturnCopies() {
+        when(userRepository.findByEmail("a@dlsu.edu.ph"))
+                .thenReturn(Optional.of(new User(1, "a@dlsu.edu.ph", null, "A")));
+
+        User first = cache.findByEmail("a@dlsu.edu.ph").orElseThrow();
+        first.setName("changed by caller");
+        User second = cache.findByEmail("a@dlsu.edu.ph").orElseThrow();
+
+        assertThat(second.getName()).isEqualTo("A");
+        verify(userRepository, times(1)).findByEmail("a@dlsu.edu.ph");
+    }
+
+    @Test
+    void evictionAndUnknownEmailsGoToTheDatabase() {
+        when(userRepository.findByEmail("a@dlsu.edu.ph"))
+                .thenReturn(Optional.of(new User(1, "a@dlsu.edu.ph", null, "A")));
+        when(userRepository.findByEmail("nobody@dlsu.edu.ph")).thenReturn(Optional.empty());
+
+        cache.findByEmail("a@dlsu.edu.ph");
+        cache.evict("a@dlsu.edu.ph");
+        cache.findByEmail("a@dlsu.edu.ph");
+        cache.findByEmail("nobody@dlsu.edu.ph");
+        cache.findByEmail("nobody@dlsu.edu.ph");
+
+        verify(userRepository, times(2)).findByEmail("a@dlsu.edu.ph");
+        verify(userRepository, times(2)).findByEmail("nobody@dlsu.edu.ph");
+    }
+}